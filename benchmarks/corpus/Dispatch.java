@@ -0,0 +1,693 @@
+/** Generated-style code: one large method with a big switch table and many locals. */
+public class Dispatch {
+
+  public int dispatch(int opcode, int a, int b) {
+    int acc = 0;
+    int tmp = 0;
+    switch (opcode) {
+      case 0:
+        acc = a + b + 0;
+        break;
+      case 1:
+        acc = a - b - 1;
+        break;
+      case 2:
+        if (a > 2) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 3:
+        acc = a * 3;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 4:
+        for (int i = 0; i < 4; i++) { acc += b; }
+        break;
+      case 5:
+        acc = a + b + 5;
+        break;
+      case 6:
+        acc = a - b - 6;
+        break;
+      case 7:
+        if (a > 7) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 8:
+        acc = a * 8;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 9:
+        for (int i = 0; i < 9; i++) { acc += b; }
+        break;
+      case 10:
+        acc = a + b + 10;
+        break;
+      case 11:
+        acc = a - b - 11;
+        break;
+      case 12:
+        if (a > 12) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 13:
+        acc = a * 13;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 14:
+        for (int i = 0; i < 14; i++) { acc += b; }
+        break;
+      case 15:
+        acc = a + b + 15;
+        break;
+      case 16:
+        acc = a - b - 16;
+        break;
+      case 17:
+        if (a > 17) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 18:
+        acc = a * 18;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 19:
+        for (int i = 0; i < 19; i++) { acc += b; }
+        break;
+      case 20:
+        acc = a + b + 20;
+        break;
+      case 21:
+        acc = a - b - 21;
+        break;
+      case 22:
+        if (a > 22) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 23:
+        acc = a * 23;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 24:
+        for (int i = 0; i < 24; i++) { acc += b; }
+        break;
+      case 25:
+        acc = a + b + 25;
+        break;
+      case 26:
+        acc = a - b - 26;
+        break;
+      case 27:
+        if (a > 27) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 28:
+        acc = a * 28;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 29:
+        for (int i = 0; i < 29; i++) { acc += b; }
+        break;
+      case 30:
+        acc = a + b + 30;
+        break;
+      case 31:
+        acc = a - b - 31;
+        break;
+      case 32:
+        if (a > 32) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 33:
+        acc = a * 33;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 34:
+        for (int i = 0; i < 34; i++) { acc += b; }
+        break;
+      case 35:
+        acc = a + b + 35;
+        break;
+      case 36:
+        acc = a - b - 36;
+        break;
+      case 37:
+        if (a > 37) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 38:
+        acc = a * 38;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 39:
+        for (int i = 0; i < 39; i++) { acc += b; }
+        break;
+      case 40:
+        acc = a + b + 40;
+        break;
+      case 41:
+        acc = a - b - 41;
+        break;
+      case 42:
+        if (a > 42) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 43:
+        acc = a * 43;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 44:
+        for (int i = 0; i < 44; i++) { acc += b; }
+        break;
+      case 45:
+        acc = a + b + 45;
+        break;
+      case 46:
+        acc = a - b - 46;
+        break;
+      case 47:
+        if (a > 47) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 48:
+        acc = a * 48;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 49:
+        for (int i = 0; i < 49; i++) { acc += b; }
+        break;
+      case 50:
+        acc = a + b + 50;
+        break;
+      case 51:
+        acc = a - b - 51;
+        break;
+      case 52:
+        if (a > 52) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 53:
+        acc = a * 53;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 54:
+        for (int i = 0; i < 54; i++) { acc += b; }
+        break;
+      case 55:
+        acc = a + b + 55;
+        break;
+      case 56:
+        acc = a - b - 56;
+        break;
+      case 57:
+        if (a > 57) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 58:
+        acc = a * 58;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 59:
+        for (int i = 0; i < 59; i++) { acc += b; }
+        break;
+      case 60:
+        acc = a + b + 60;
+        break;
+      case 61:
+        acc = a - b - 61;
+        break;
+      case 62:
+        if (a > 62) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 63:
+        acc = a * 63;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 64:
+        for (int i = 0; i < 64; i++) { acc += b; }
+        break;
+      case 65:
+        acc = a + b + 65;
+        break;
+      case 66:
+        acc = a - b - 66;
+        break;
+      case 67:
+        if (a > 67) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 68:
+        acc = a * 68;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 69:
+        for (int i = 0; i < 69; i++) { acc += b; }
+        break;
+      case 70:
+        acc = a + b + 70;
+        break;
+      case 71:
+        acc = a - b - 71;
+        break;
+      case 72:
+        if (a > 72) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 73:
+        acc = a * 73;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 74:
+        for (int i = 0; i < 74; i++) { acc += b; }
+        break;
+      case 75:
+        acc = a + b + 75;
+        break;
+      case 76:
+        acc = a - b - 76;
+        break;
+      case 77:
+        if (a > 77) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 78:
+        acc = a * 78;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 79:
+        for (int i = 0; i < 79; i++) { acc += b; }
+        break;
+      case 80:
+        acc = a + b + 80;
+        break;
+      case 81:
+        acc = a - b - 81;
+        break;
+      case 82:
+        if (a > 82) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 83:
+        acc = a * 83;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 84:
+        for (int i = 0; i < 84; i++) { acc += b; }
+        break;
+      case 85:
+        acc = a + b + 85;
+        break;
+      case 86:
+        acc = a - b - 86;
+        break;
+      case 87:
+        if (a > 87) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 88:
+        acc = a * 88;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 89:
+        for (int i = 0; i < 89; i++) { acc += b; }
+        break;
+      case 90:
+        acc = a + b + 90;
+        break;
+      case 91:
+        acc = a - b - 91;
+        break;
+      case 92:
+        if (a > 92) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 93:
+        acc = a * 93;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 94:
+        for (int i = 0; i < 94; i++) { acc += b; }
+        break;
+      case 95:
+        acc = a + b + 95;
+        break;
+      case 96:
+        acc = a - b - 96;
+        break;
+      case 97:
+        if (a > 97) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 98:
+        acc = a * 98;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 99:
+        for (int i = 0; i < 99; i++) { acc += b; }
+        break;
+      case 100:
+        acc = a + b + 100;
+        break;
+      case 101:
+        acc = a - b - 101;
+        break;
+      case 102:
+        if (a > 102) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 103:
+        acc = a * 103;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 104:
+        for (int i = 0; i < 104; i++) { acc += b; }
+        break;
+      case 105:
+        acc = a + b + 105;
+        break;
+      case 106:
+        acc = a - b - 106;
+        break;
+      case 107:
+        if (a > 107) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 108:
+        acc = a * 108;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 109:
+        for (int i = 0; i < 109; i++) { acc += b; }
+        break;
+      case 110:
+        acc = a + b + 110;
+        break;
+      case 111:
+        acc = a - b - 111;
+        break;
+      case 112:
+        if (a > 112) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 113:
+        acc = a * 113;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 114:
+        for (int i = 0; i < 114; i++) { acc += b; }
+        break;
+      case 115:
+        acc = a + b + 115;
+        break;
+      case 116:
+        acc = a - b - 116;
+        break;
+      case 117:
+        if (a > 117) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 118:
+        acc = a * 118;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 119:
+        for (int i = 0; i < 119; i++) { acc += b; }
+        break;
+      case 120:
+        acc = a + b + 120;
+        break;
+      case 121:
+        acc = a - b - 121;
+        break;
+      case 122:
+        if (a > 122) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 123:
+        acc = a * 123;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 124:
+        for (int i = 0; i < 124; i++) { acc += b; }
+        break;
+      case 125:
+        acc = a + b + 125;
+        break;
+      case 126:
+        acc = a - b - 126;
+        break;
+      case 127:
+        if (a > 127) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 128:
+        acc = a * 128;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 129:
+        for (int i = 0; i < 129; i++) { acc += b; }
+        break;
+      case 130:
+        acc = a + b + 130;
+        break;
+      case 131:
+        acc = a - b - 131;
+        break;
+      case 132:
+        if (a > 132) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 133:
+        acc = a * 133;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 134:
+        for (int i = 0; i < 134; i++) { acc += b; }
+        break;
+      case 135:
+        acc = a + b + 135;
+        break;
+      case 136:
+        acc = a - b - 136;
+        break;
+      case 137:
+        if (a > 137) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 138:
+        acc = a * 138;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 139:
+        for (int i = 0; i < 139; i++) { acc += b; }
+        break;
+      case 140:
+        acc = a + b + 140;
+        break;
+      case 141:
+        acc = a - b - 141;
+        break;
+      case 142:
+        if (a > 142) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 143:
+        acc = a * 143;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 144:
+        for (int i = 0; i < 144; i++) { acc += b; }
+        break;
+      case 145:
+        acc = a + b + 145;
+        break;
+      case 146:
+        acc = a - b - 146;
+        break;
+      case 147:
+        if (a > 147) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 148:
+        acc = a * 148;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 149:
+        for (int i = 0; i < 149; i++) { acc += b; }
+        break;
+      case 150:
+        acc = a + b + 150;
+        break;
+      case 151:
+        acc = a - b - 151;
+        break;
+      case 152:
+        if (a > 152) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 153:
+        acc = a * 153;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 154:
+        for (int i = 0; i < 154; i++) { acc += b; }
+        break;
+      case 155:
+        acc = a + b + 155;
+        break;
+      case 156:
+        acc = a - b - 156;
+        break;
+      case 157:
+        if (a > 157) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 158:
+        acc = a * 158;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 159:
+        for (int i = 0; i < 159; i++) { acc += b; }
+        break;
+      case 160:
+        acc = a + b + 160;
+        break;
+      case 161:
+        acc = a - b - 161;
+        break;
+      case 162:
+        if (a > 162) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 163:
+        acc = a * 163;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 164:
+        for (int i = 0; i < 164; i++) { acc += b; }
+        break;
+      case 165:
+        acc = a + b + 165;
+        break;
+      case 166:
+        acc = a - b - 166;
+        break;
+      case 167:
+        if (a > 167) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 168:
+        acc = a * 168;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 169:
+        for (int i = 0; i < 169; i++) { acc += b; }
+        break;
+      case 170:
+        acc = a + b + 170;
+        break;
+      case 171:
+        acc = a - b - 171;
+        break;
+      case 172:
+        if (a > 172) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 173:
+        acc = a * 173;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 174:
+        for (int i = 0; i < 174; i++) { acc += b; }
+        break;
+      case 175:
+        acc = a + b + 175;
+        break;
+      case 176:
+        acc = a - b - 176;
+        break;
+      case 177:
+        if (a > 177) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 178:
+        acc = a * 178;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 179:
+        for (int i = 0; i < 179; i++) { acc += b; }
+        break;
+      case 180:
+        acc = a + b + 180;
+        break;
+      case 181:
+        acc = a - b - 181;
+        break;
+      case 182:
+        if (a > 182) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 183:
+        acc = a * 183;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 184:
+        for (int i = 0; i < 184; i++) { acc += b; }
+        break;
+      case 185:
+        acc = a + b + 185;
+        break;
+      case 186:
+        acc = a - b - 186;
+        break;
+      case 187:
+        if (a > 187) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 188:
+        acc = a * 188;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 189:
+        for (int i = 0; i < 189; i++) { acc += b; }
+        break;
+      case 190:
+        acc = a + b + 190;
+        break;
+      case 191:
+        acc = a - b - 191;
+        break;
+      case 192:
+        if (a > 192) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 193:
+        acc = a * 193;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 194:
+        for (int i = 0; i < 194; i++) { acc += b; }
+        break;
+      case 195:
+        acc = a + b + 195;
+        break;
+      case 196:
+        acc = a - b - 196;
+        break;
+      case 197:
+        if (a > 197) { tmp = a; } else { tmp = b; }
+        acc = tmp;
+        break;
+      case 198:
+        acc = a * 198;
+        if (acc < 0) { acc = -acc; }
+        break;
+      case 199:
+        for (int i = 0; i < 199; i++) { acc += b; }
+        break;
+      default:
+        acc = -1;
+    }
+    return acc + tmp;
+  }
+}
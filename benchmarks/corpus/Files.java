@@ -0,0 +1,52 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Resource-handling code: try-with-resources, closeable fields, and exceptional paths. */
+public class Files {
+
+  public static List<String> readLines(InputStream in) throws IOException {
+    List<String> lines = new ArrayList<>();
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  public static long copy(InputStream in, OutputStream out) throws IOException {
+    byte[] buffer = new byte[8192];
+    long total = 0;
+    int n;
+    while ((n = in.read(buffer)) != -1) {
+      out.write(buffer, 0, n);
+      total += n;
+    }
+    return total;
+  }
+
+  public static String ping(String host, int port) throws IOException {
+    Socket socket = new Socket(host, port);
+    try {
+      OutputStream out = socket.getOutputStream();
+      out.write("PING\n".getBytes(StandardCharsets.UTF_8));
+      out.flush();
+      BufferedReader reader =
+          new BufferedReader(
+              new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+      String reply = reader.readLine();
+      return reply == null ? "" : reply;
+    } finally {
+      socket.close();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/** Typical service code: generic collections, map lookups, null checks, and stream pipelines. */
+public class Inventory {
+
+  /** An item in the inventory. */
+  public static class Item {
+    final String sku;
+    final String name;
+    final int quantity;
+    final List<String> tags;
+
+    Item(String sku, String name, int quantity, List<String> tags) {
+      this.sku = sku;
+      this.name = name;
+      this.quantity = quantity;
+      this.tags = tags;
+    }
+  }
+
+  private final Map<String, Item> bySku = new HashMap<>();
+  private final Map<String, List<Item>> byTag = new HashMap<>();
+  private String lastSku;
+
+  public void add(Item item) {
+    bySku.put(item.sku, item);
+    for (String tag : item.tags) {
+      List<Item> items = byTag.get(tag);
+      if (items == null) {
+        items = new ArrayList<>();
+        byTag.put(tag, items);
+      }
+      items.add(item);
+    }
+    lastSku = item.sku;
+  }
+
+  public int quantity(String sku) {
+    Item item = bySku.get(sku);
+    return item == null ? 0 : item.quantity;
+  }
+
+  public String lastName() {
+    if (lastSku != null && bySku.containsKey(lastSku)) {
+      return bySku.get(lastSku).name;
+    }
+    return "";
+  }
+
+  public List<Item> tagged(String tag) {
+    List<Item> items = byTag.get(tag);
+    if (items == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(items);
+  }
+
+  public Optional<Item> largest() {
+    Item best = null;
+    for (Map.Entry<String, Item> e : bySku.entrySet()) {
+      Item candidate = e.getValue();
+      if (best == null || candidate.quantity > best.quantity) {
+        best = candidate;
+      }
+    }
+    return Optional.ofNullable(best);
+  }
+
+  public Map<String, Integer> totalsByTag() {
+    Map<String, Integer> result = new HashMap<>();
+    for (String tag : byTag.keySet()) {
+      int total = 0;
+      for (Item item : byTag.get(tag)) {
+        total += item.quantity;
+      }
+      result.put(tag, total);
+    }
+    return result;
+  }
+
+  public List<String> namesWithPrefix(String prefix) {
+    return bySku.values().stream()
+        .filter(item -> item.name.startsWith(prefix))
+        .map(item -> item.name)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  public Map<Integer, List<String>> skusByQuantity() {
+    return bySku.values().stream()
+        .collect(
+            Collectors.groupingBy(
+                item -> item.quantity, Collectors.mapping(item -> item.sku, Collectors.toList())));
+  }
+}
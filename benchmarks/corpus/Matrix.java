@@ -0,0 +1,92 @@
+/** Array-heavy numeric code: nested loops, index arithmetic, and length comparisons. */
+public class Matrix {
+
+  private final int rows;
+  private final int cols;
+  private final double[] data;
+
+  public Matrix(int rows, int cols) {
+    this.rows = rows;
+    this.cols = cols;
+    this.data = new double[rows * cols];
+  }
+
+  public double get(int row, int col) {
+    return data[row * cols + col];
+  }
+
+  public void set(int row, int col, double value) {
+    data[row * cols + col] = value;
+  }
+
+  public Matrix multiply(Matrix other) {
+    if (cols != other.rows) {
+      throw new IllegalArgumentException("dimension mismatch");
+    }
+    Matrix result = new Matrix(rows, other.cols);
+    for (int i = 0; i < rows; i++) {
+      for (int j = 0; j < other.cols; j++) {
+        double sum = 0;
+        for (int k = 0; k < cols; k++) {
+          sum += get(i, k) * other.get(k, j);
+        }
+        result.set(i, j, sum);
+      }
+    }
+    return result;
+  }
+
+  public static double dot(double[] a, double[] b) {
+    if (a.length != b.length) {
+      throw new IllegalArgumentException("length mismatch");
+    }
+    double sum = 0;
+    for (int i = 0; i < a.length; i++) {
+      sum += a[i] * b[i];
+    }
+    return sum;
+  }
+
+  public static int[] prefixSums(int[] values) {
+    int[] sums = new int[values.length + 1];
+    for (int i = 0; i < values.length; i++) {
+      sums[i + 1] = sums[i] + values[i];
+    }
+    return sums;
+  }
+
+  public static int binarySearch(int[] sorted, int key) {
+    int low = 0;
+    int high = sorted.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int value = sorted[mid];
+      if (value < key) {
+        low = mid + 1;
+      } else if (value > key) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  public static String reverse(String s) {
+    char[] chars = s.toCharArray();
+    for (int i = 0, j = chars.length - 1; i < j; i++, j--) {
+      char tmp = chars[i];
+      chars[i] = chars[j];
+      chars[j] = tmp;
+    }
+    return new String(chars);
+  }
+
+  public static int indexOfSubstring(String haystack, String needle) {
+    int index = haystack.indexOf(needle);
+    if (index != -1) {
+      return haystack.substring(index, index + needle.length()).length();
+    }
+    return -1;
+  }
+}
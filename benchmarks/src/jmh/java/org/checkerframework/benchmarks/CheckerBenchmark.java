@@ -0,0 +1,104 @@
+package org.checkerframework.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Runs a checker over the whole corpus, as javac would during a build.
+ *
+ * <p>The framework's hot paths ({@code AnnotatedTypeFactory.getAnnotatedType}, {@code
+ * DefaultTypeHierarchy.isSubtype}, {@code QualifierHierarchy.leastUpperBound}, {@code
+ * ForwardAnalysisImpl.performAnalysis}, {@code CFAbstractStore.leastUpperBound}, and parsing of
+ * {@code jdk.astub} by {@code AnnotationFileParser}) all require a live javac context, so they are
+ * measured as part of a real compilation rather than in isolation. Each invocation is a fresh
+ * compilation, so stub parsing and type factory initialization are included in the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CheckerBenchmark {
+
+  /** The fully-qualified name of the checker to run. */
+  @Param({
+    "org.checkerframework.checker.nullness.NullnessChecker",
+    "org.checkerframework.checker.index.IndexChecker",
+    "org.checkerframework.checker.resourceleak.ResourceLeakChecker",
+  })
+  public String checker;
+
+  /** The Java compiler. */
+  private JavaCompiler compiler;
+
+  /** The file manager, shared by all compilations. */
+  private StandardJavaFileManager fileManager;
+
+  /** The corpus files. */
+  private Iterable<? extends JavaFileObject> sources;
+
+  /** The command-line options passed to javac. */
+  private List<String> options;
+
+  /** Creates the compiler and locates the corpus. */
+  @Setup
+  public void setup() {
+    compiler = ToolProvider.getSystemJavaCompiler();
+    fileManager = compiler.getStandardFileManager(null, null, null);
+    sources = fileManager.getJavaFileObjectsFromFiles(Corpus.javaFiles());
+    String classpath = System.getProperty("java.class.path");
+    options =
+        List.of(
+            "-proc:only",
+            "-classpath",
+            classpath,
+            "-processorpath",
+            classpath,
+            "-processor",
+            checker,
+            "-Awarns",
+            "-AnoWarnMemoryConstraints");
+  }
+
+  /**
+   * Closes the file manager.
+   *
+   * @throws IOException if the file manager cannot be closed
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    fileManager.close();
+  }
+
+  /**
+   * Type-checks the corpus.
+   *
+   * @return the diagnostics issued, so that the compilation is not dead code
+   */
+  @Benchmark
+  public DiagnosticCollector<JavaFileObject> typecheckCorpus() {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Boolean success =
+        compiler
+            .getTask(Writer.nullWriter(), fileManager, diagnostics, options, null, sources)
+            .call();
+    if (!success) {
+      throw new Error("Compilation of " + Corpus.directory() + " failed: " + diagnostics);
+    }
+    return diagnostics;
+  }
+}
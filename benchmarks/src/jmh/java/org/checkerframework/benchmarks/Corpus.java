@@ -0,0 +1,62 @@
+package org.checkerframework.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/** Locates the source files that the benchmarks process. */
+final class Corpus {
+
+  /** The system property that holds the corpus directory; set by benchmarks/build.gradle. */
+  private static final String CORPUS_PROPERTY = "org.checkerframework.benchmarks.corpus";
+
+  /** Do not instantiate. */
+  private Corpus() {
+    throw new Error("Do not instantiate");
+  }
+
+  /**
+   * Returns the directory that contains the corpus.
+   *
+   * @return the directory that contains the corpus
+   */
+  static Path directory() {
+    String dir = System.getProperty(CORPUS_PROPERTY);
+    if (dir == null) {
+      throw new Error("System property " + CORPUS_PROPERTY + " is not set");
+    }
+    return Paths.get(dir);
+  }
+
+  /**
+   * Returns the given file of the corpus.
+   *
+   * @param fileName the name of a file in the corpus directory
+   * @return the given file of the corpus
+   */
+  static File file(String fileName) {
+    return directory().resolve(fileName).toFile();
+  }
+
+  /**
+   * Returns all Java files in the corpus, in a deterministic order.
+   *
+   * @return all Java files in the corpus
+   */
+  static List<File> javaFiles() {
+    try (Stream<Path> paths = Files.list(directory())) {
+      return paths
+          .filter(p -> p.toString().endsWith(".java"))
+          .sorted()
+          .map(Path::toFile)
+          .collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new Error(e);
+    }
+  }
+}
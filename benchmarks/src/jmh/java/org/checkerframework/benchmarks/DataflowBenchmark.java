@@ -0,0 +1,136 @@
+package org.checkerframework.benchmarks;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.JavacTask;
+import com.sun.tools.javac.api.BasicJavacTask;
+import com.sun.tools.javac.processing.JavacProcessingEnvironment;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.checkerframework.dataflow.analysis.ForwardAnalysisImpl;
+import org.checkerframework.dataflow.cfg.ControlFlowGraph;
+import org.checkerframework.dataflow.cfg.builder.CFGBuilder;
+import org.checkerframework.dataflow.constantpropagation.Constant;
+import org.checkerframework.dataflow.constantpropagation.ConstantPropagationStore;
+import org.checkerframework.dataflow.constantpropagation.ConstantPropagationTransfer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Builds the control flow graph of one large method, and runs a forward analysis over it.
+ *
+ * <p>The input file is parsed and attributed once, in {@link #setup}, so {@link #buildCfg} measures
+ * only {@code CFGBuilder.build}. Compare {@link #buildCfg} with {@link #buildCfgAndAnalyze} to
+ * isolate {@code ForwardAnalysisImpl.performAnalysis}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataflowBenchmark {
+
+  /** The class that contains the method. */
+  private static final String CLASS_NAME = "Dispatch";
+
+  /** The method whose CFG is built. */
+  private static final String METHOD_NAME = "dispatch";
+
+  /** The file manager, which must stay open while the trees are in use. */
+  private StandardJavaFileManager fileManager;
+
+  /** The processing environment of the compilation that attributed {@link #root}. */
+  private ProcessingEnvironment env;
+
+  /** The attributed compilation unit that contains the method. */
+  private CompilationUnitTree root;
+
+  /** The class that contains the method. */
+  private ClassTree classTree;
+
+  /** The method whose CFG is built. */
+  private MethodTree methodTree;
+
+  /**
+   * Parses and attributes the corpus file that contains the method.
+   *
+   * @throws IOException if the corpus file cannot be read
+   */
+  @Setup
+  public void setup() throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    fileManager = compiler.getStandardFileManager(null, null, null);
+    JavacTask task =
+        (JavacTask)
+            compiler.getTask(
+                Writer.nullWriter(),
+                fileManager,
+                null,
+                List.of("-proc:none"),
+                null,
+                fileManager.getJavaFileObjects(Corpus.file(CLASS_NAME + ".java")));
+    root = task.parse().iterator().next();
+    task.analyze();
+    env = JavacProcessingEnvironment.instance(((BasicJavacTask) task).getContext());
+
+    for (Tree typeDecl : root.getTypeDecls()) {
+      if (typeDecl instanceof ClassTree ct && ct.getSimpleName().contentEquals(CLASS_NAME)) {
+        for (Tree member : ct.getMembers()) {
+          if (member instanceof MethodTree mt && mt.getName().contentEquals(METHOD_NAME)) {
+            classTree = ct;
+            methodTree = mt;
+          }
+        }
+      }
+    }
+    if (methodTree == null) {
+      throw new Error("Method " + CLASS_NAME + "." + METHOD_NAME + " not found");
+    }
+  }
+
+  /**
+   * Closes the file manager.
+   *
+   * @throws IOException if the file manager cannot be closed
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    fileManager.close();
+  }
+
+  /**
+   * Builds the CFG of the method.
+   *
+   * @return the CFG
+   */
+  @Benchmark
+  public ControlFlowGraph buildCfg() {
+    return CFGBuilder.build(root, methodTree, classTree, env);
+  }
+
+  /**
+   * Builds the CFG of the method and runs constant propagation over it.
+   *
+   * @return the CFG
+   */
+  @Benchmark
+  public ControlFlowGraph buildCfgAndAnalyze() {
+    ControlFlowGraph cfg = CFGBuilder.build(root, methodTree, classTree, env);
+    ForwardAnalysisImpl<Constant, ConstantPropagationStore, ConstantPropagationTransfer> analysis =
+        new ForwardAnalysisImpl<>(new ConstantPropagationTransfer());
+    analysis.performAnalysis(cfg);
+    return cfg;
+  }
+}
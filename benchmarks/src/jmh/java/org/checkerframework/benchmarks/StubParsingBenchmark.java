@@ -0,0 +1,67 @@
+package org.checkerframework.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.framework.util.JavaParserUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parses an annotation file that is bundled with the Checker Framework into a {@code StubUnit}.
+ *
+ * <p>Parsing does not need a javac context, so this measures it in isolation. It is the work that
+ * {@code StubUnitCache} saves when a file is parsed a second time, and that {@code
+ * StubUnitCache.parseInParallel} spreads over several threads. The file is read in {@link #setup},
+ * so I/O is not included in the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StubParsingBenchmark {
+
+  /** The annotation file to parse, as a resource name in the checker jar. */
+  @Param({
+    "/org/checkerframework/framework/stub/jdk11.astub",
+    "/org/checkerframework/checker/nullness/collection-object-parameters-may-be-null.astub",
+    "/org/checkerframework/checker/nullness/junit-assertions.astub",
+  })
+  public String stubFile;
+
+  /** The content of the annotation file. */
+  private byte[] content;
+
+  /**
+   * Reads the annotation file.
+   *
+   * @throws IOException if the annotation file cannot be read
+   */
+  @Setup
+  public void setup() throws IOException {
+    try (InputStream in = JavaParserUtil.class.getResourceAsStream(stubFile)) {
+      if (in == null) {
+        throw new Error("Resource not found: " + stubFile);
+      }
+      content = in.readAllBytes();
+    }
+  }
+
+  /**
+   * Parses the annotation file.
+   *
+   * @return the AST of the annotation file
+   */
+  @Benchmark
+  // The checker jar relocates JavaParser into org.checkerframework.com.github.javaparser, so the
+  // result is returned as an Object rather than by naming the relocated StubUnit class.
+  public Object parseStubUnit() {
+    return JavaParserUtil.parseStubUnit(new ByteArrayInputStream(content));
+  }
+}
@@ -0,0 +1,29 @@
+package org.checkerframework.checker.test.junit;
+
+import java.io.File;
+import java.util.List;
+import org.checkerframework.checker.resourceleak.ResourceLeakChecker;
+import org.checkerframework.framework.test.CheckerFrameworkPerDirectoryTest;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests for the Resource Leak Checker with -AatfDoNotCache, under which the checker and its
+ * subcheckers must still share control flow graphs.
+ */
+public class ResourceLeakAtfDoNotCacheTest extends CheckerFrameworkPerDirectoryTest {
+  public ResourceLeakAtfDoNotCacheTest(List<File> testFiles) {
+    super(
+        testFiles,
+        ResourceLeakChecker.class,
+        "resourceleak",
+        "-AatfDoNotCache",
+        "-AwarnUnneededSuppressions",
+        "-encoding",
+        "UTF-8");
+  }
+
+  @Parameters
+  public static String[] getTestDirs() {
+    return new String[] {"resourceleak-atfdonotcache"};
+  }
+}
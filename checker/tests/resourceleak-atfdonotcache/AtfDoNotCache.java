@@ -0,0 +1,69 @@
+// Test cases for the Resource Leak Checker with -AatfDoNotCache.  The Resource Leak Checker looks
+// up the stores of its subcheckers by the nodes of its own control flow graph, so the checkers
+// must share control flow graphs even when the type factories do not cache.
+
+import java.io.IOException;
+import java.net.Socket;
+import org.checkerframework.checker.calledmethods.qual.*;
+import org.checkerframework.checker.mustcall.qual.*;
+
+class AtfDoNotCache {
+
+  void leakOne(String address, int port) {
+    try {
+      // :: error: [required.method.not.called]
+      Socket leaked = new Socket(address, port);
+      Socket closed = new Socket(address, port);
+      closed.close();
+    } catch (IOException e) {
+
+    }
+  }
+
+  void closeInFinally(String myHost, int myPort) throws Exception {
+    Socket s = null;
+    try {
+      s = new Socket(myHost, myPort);
+    } catch (Exception e) {
+    } finally {
+      if (s != null) {
+        s.close();
+      }
+    }
+  }
+
+  class OuterResource implements java.io.Closeable {
+    private final @Owning Socket socket;
+
+    public @MustCallAlias OuterResource(@MustCallAlias Socket sock) throws IOException {
+      this.socket = sock;
+    }
+
+    @Override
+    @EnsuresCalledMethods(
+        value = {"this.socket"},
+        methods = {"close"})
+    public void close() throws IOException {
+      this.socket.close();
+    }
+  }
+
+  // If "new OuterResource" throws an exception, then the socket won't be released.
+  public void multiResourcesWrong(String address, int port) {
+    // :: error: [required.method.not.called]
+    try (OuterResource outer = new OuterResource(new Socket(address, port))) {
+
+    } catch (Exception e) {
+
+    }
+  }
+
+  public void multiResourcesCorrect(String address, int port) {
+    try (Socket s = new Socket(address, port);
+        OuterResource outer = new OuterResource(s)) {
+
+    } catch (Exception e) {
+
+    }
+  }
+}
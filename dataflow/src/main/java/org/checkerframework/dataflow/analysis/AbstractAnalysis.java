@@ -3,14 +3,15 @@ package org.checkerframework.dataflow.analysis;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.Tree;
-import java.util.Comparator;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.StringJoiner;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 import org.checkerframework.checker.interning.qual.FindDistinct;
@@ -68,6 +69,13 @@ public abstract class AbstractAnalysis<
   /** Abstract values of nodes. */
   protected final IdentityHashMap<Node, V> nodeValues = new IdentityHashMap<>();
 
+  /**
+   * The node values that were passed to {@link ForwardAnalysisImpl#runAnalysisFor}, while it re-runs
+   * the transfer function; otherwise null. When non-null, {@link #getValue} and {@link
+   * #getNodeValues} read this map instead of {@link #nodeValues}.
+   */
+  /*package-private*/ @Nullable IdentityHashMap<Node, V> rerunNodeValues = null;
+
   /** Map from (effectively final) local variable elements to their abstract value. */
   protected final HashMap<VariableElement, V> finalLocalValues = new HashMap<>();
 
@@ -202,7 +210,7 @@ public abstract class AbstractAnalysis<
       assert !n.isLValue() : "Did not expect an lvalue, but got " + n;
       // fall through when the current node is not 'n'.
     }
-    return nodeValues.get(n);
+    return getNodeValues().get(n);
   }
 
   /**
@@ -341,28 +349,11 @@ public abstract class AbstractAnalysis<
   /**
    * Returns all current node values.
    *
-   * @return {@link #nodeValues}
+   * @return {@link #nodeValues}, or the node values passed to {@link
+   *     ForwardAnalysisImpl#runAnalysisFor} while it is running
    */
   public IdentityHashMap<Node, V> getNodeValues() {
-    return nodeValues;
-  }
-
-  /**
-   * Set all current node values to the given map.
-   *
-   * @param in the current node values
-   */
-  @SuppressWarnings("interning:not.interned") // see comment about if-check below
-  /*package-private*/ void setNodeValues(IdentityHashMap<Node, V> in) {
-    assert !isRunning;
-    // The if-check below is not just an optimization.  Without it, this method misbehaves
-    // when `in` and `nodeValues` alias: the call to `clear()` clears BOTH objects.  There
-    // are some places where `this.nodeValues` flows to the `in` argument (through several
-    // other layers of abstraction).
-    if (nodeValues != in) {
-      nodeValues.clear();
-      nodeValues.putAll(in);
-    }
+    return rerunNodeValues != null ? rerunNodeValues : nodeValues;
   }
 
   @Override
@@ -574,11 +565,6 @@ public abstract class AbstractAnalysis<
    * @param b the block to add to {@link #worklist}
    */
   protected void addToWorklist(Block b) {
-    // TODO: This costs linear (!) time.  Use a more efficient way to check if b is already
-    // present.
-    // Two possibilities:
-    //  * add unconditionally, and detect duplicates when removing from the queue.
-    //  * maintain a HashSet of the elements that are already in the queue.
     if (!worklist.contains(b)) {
       worklist.add(b);
     }
@@ -587,6 +573,9 @@ public abstract class AbstractAnalysis<
   /**
    * A worklist is a priority queue of blocks in which the order is given by depth-first ordering to
    * place non-loop predecessors ahead of successors.
+   *
+   * <p>The queue is a bit set indexed by depth-first order, so adding, removing, and testing
+   * membership neither allocate nor compare blocks.
    */
   protected static class Worklist {
 
@@ -594,40 +583,19 @@ public abstract class AbstractAnalysis<
     protected final IdentityHashMap<Block, Integer> depthFirstOrder = new IdentityHashMap<>();
 
     /**
-     * Comparators to allow priority queue to order blocks by their depth-first order, using by
-     * forward analysis.
+     * The direction of the analysis. A forward analysis removes the block with the lowest
+     * depth-first order first; a backward analysis removes the block with the highest one first.
      */
-    public class ForwardDfoComparator implements Comparator<Block> {
-      /** Creates a new ForwardDfoComparator. */
-      public ForwardDfoComparator() {}
-
-      @SuppressWarnings("nullness:unboxing.of.nullable")
-      @Override
-      public int compare(Block b1, Block b2) {
-        return depthFirstOrder.get(b1) - depthFirstOrder.get(b2);
-      }
-    }
+    protected final Direction direction;
 
     /**
-     * Comparators to allow priority queue to order blocks by their depth-first order, using by
-     * backward analysis.
+     * Maps a depth-first order to its block; the inverse of {@link #depthFirstOrder}. Element 0 is
+     * unused.
      */
-    public class BackwardDfoComparator implements Comparator<Block> {
-      /** Creates a new BackwardDfoComparator. */
-      public BackwardDfoComparator() {}
-
-      @SuppressWarnings("nullness:unboxing.of.nullable")
-      @Override
-      public int compare(Block b1, Block b2) {
-        return depthFirstOrder.get(b2) - depthFirstOrder.get(b1);
-      }
-    }
-
-    /** The backing priority queue. */
-    protected final PriorityQueue<Block> queue;
+    protected @Nullable Block[] blocksByOrder = new Block[0];
 
-    /** Contains the same elements as {@link #queue}, for faster lookup. */
-    protected final Set<Block> queueSet;
+    /** The depth-first orders of the blocks in this worklist. */
+    protected final BitSet queue = new BitSet();
 
     /**
      * Create a Worklist.
@@ -635,47 +603,58 @@ public abstract class AbstractAnalysis<
      * @param direction the direction (forward or backward)
      */
     public Worklist(Direction direction) {
-      if (direction == Direction.FORWARD) {
-        queue = new PriorityQueue<>(new ForwardDfoComparator());
-        queueSet = new HashSet<>();
-      } else if (direction == Direction.BACKWARD) {
-        queue = new PriorityQueue<>(new BackwardDfoComparator());
-        queueSet = new HashSet<>();
-      } else {
+      if (direction != Direction.FORWARD && direction != Direction.BACKWARD) {
         throw new BugInCF("Unexpected Direction: " + direction.name());
       }
+      this.direction = direction;
     }
 
     /**
      * Process the control flow graph.
      *
      * <p>This implementation sets the depth-first order for each block, by adding the blocks to
-     * {@link #depthFirstOrder}.
+     * {@link #depthFirstOrder} and {@link #blocksByOrder}.
      *
      * @param cfg the control flow graph to process
      */
     public void process(ControlFlowGraph cfg) {
       depthFirstOrder.clear();
+      List<Block> blocks = cfg.getDepthFirstOrderedBlocks();
+      blocksByOrder = new Block[blocks.size() + 1];
       int count = 1;
-      for (Block b : cfg.getDepthFirstOrderedBlocks()) {
-        depthFirstOrder.put(b, count++);
+      for (Block b : blocks) {
+        // A block may appear more than once in the list; its last position is its order.
+        depthFirstOrder.put(b, count);
+        blocksByOrder[count] = b;
+        count++;
       }
 
       queue.clear();
-      queueSet.clear();
     }
 
     /**
-     * See {@link PriorityQueue#isEmpty}.
+     * Returns the depth-first order of the given block.
+     *
+     * @param block a block of the control flow graph passed to {@link #process}
+     * @return the depth-first order of the given block
+     */
+    private int order(Block block) {
+      Integer order = depthFirstOrder.get(block);
+      if (order == null) {
+        throw new BugInCF("Block is not in the control flow graph: " + block);
+      }
+      return order;
+    }
+
+    /**
+     * Returns true if this Worklist is empty.
      *
-     * @see PriorityQueue#isEmpty
      * @return true if this Worklist is empty
      */
     @Pure
     @EnsuresNonNullIf(result = false, expression = "poll()")
     @SuppressWarnings("nullness:contracts.conditional.postcondition") // forwarded
     public boolean isEmpty() {
-      assert queue.isEmpty() == queueSet.isEmpty();
       return queue.isEmpty();
     }
 
@@ -686,50 +665,59 @@ public abstract class AbstractAnalysis<
      * @return true if this Worklist contains the given block
      */
     public boolean contains(Block block) {
-      return queueSet.contains(block);
+      Integer order = depthFirstOrder.get(block);
+      return order != null && queue.get(order);
     }
 
     /**
-     * Add the given block to this Worklist. Adds unconditionally: does not check containment first.
+     * Add the given block to this Worklist. Has no effect if the block is already in this Worklist.
      *
      * @param block the block to add to this Worklist
      */
     public void add(Block block) {
-      queue.add(block);
-      queueSet.add(block);
+      queue.set(order(block));
     }
 
     /**
-     * Returns the head of this Worklist.
+     * Removes and returns the head of this Worklist, or returns null if this Worklist is empty.
      *
-     * @see PriorityQueue#poll
-     * @return the head of this Worklist
+     * @return the head of this Worklist, or null if this Worklist is empty
      */
     @Pure
     public @Nullable Block poll() {
-      Block result = queue.poll();
-      if (result != null) {
-        queueSet.remove(result);
+      int order =
+          direction == Direction.FORWARD
+              ? queue.nextSetBit(0)
+              : queue.previousSetBit(blocksByOrder.length - 1);
+      if (order < 0) {
+        return null;
       }
-      return result;
+      queue.clear(order);
+      return blocksByOrder[order];
     }
 
     /**
-     * Returns the head of this Worklist.
+     * Removes and returns the head of this Worklist.
      *
-     * @see PriorityQueue#remove
      * @return the head of this Worklist
+     * @throws NoSuchElementException if this Worklist is empty
      */
     @Pure
     public Block remove() {
-      Block result = queue.remove();
-      queueSet.remove(result);
+      Block result = poll();
+      if (result == null) {
+        throw new NoSuchElementException("empty Worklist");
+      }
       return result;
     }
 
     @Override
     public String toString() {
-      return "Worklist(" + queue + ")";
+      StringJoiner result = new StringJoiner(", ", "Worklist([", "])");
+      for (int order = queue.nextSetBit(0); order >= 0; order = queue.nextSetBit(order + 1)) {
+        result.add(String.valueOf(blocksByOrder[order]));
+      }
+      return result.toString();
     }
   }
 }
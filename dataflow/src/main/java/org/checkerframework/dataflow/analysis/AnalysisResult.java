@@ -427,10 +427,10 @@ public class AnalysisResult<V extends AbstractValue<V>, S extends Store<S>> impl
     if (transferInput == null) {
       return null;
     }
-    // Calling Analysis.runAnalysisFor() may mutate the internal nodeValues map inside an
-    // AbstractAnalysis object, and by default the AnalysisResult constructor just wraps this
-    // map without copying it.  So here the AnalysisResult maps must be copied, to preserve
-    // them.
+    // By default the AnalysisResult constructor just wraps the internal nodeValues map of an
+    // AbstractAnalysis object without copying it, and the analysis clears that map when it
+    // analyzes another control flow graph.  So here the AnalysisResult maps must be copied, to
+    // preserve them.
     copyMapsIfNeeded();
     return runAnalysisFor(node, preOrPost, transferInput, nodeValues, analysisCaches);
   }
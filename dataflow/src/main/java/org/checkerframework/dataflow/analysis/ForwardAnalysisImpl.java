@@ -242,7 +242,9 @@ public class ForwardAnalysisImpl<
       assert currentInput != null : "@AssumeAssertion(nullness): invariant";
       return currentInput.getRegularStore();
     }
-    setNodeValues(nodeValues);
+    // Read the given node values in place.  Copying them into this analysis would cost time
+    // proportional to the size of the whole class for every store that is requested.
+    rerunNodeValues = nodeValues;
     isRunning = true;
     try {
       switch (block.getType()) {
@@ -308,6 +310,7 @@ public class ForwardAnalysisImpl<
       }
     } finally {
       setCurrentNode(oldCurrentNode);
+      rerunNodeValues = null;
       isRunning = false;
     }
   }
@@ -504,6 +507,11 @@ public class ForwardAnalysisImpl<
   /**
    * Merge two stores, possibly widening the result.
    *
+   * <p>If the stores are equal, returns {@code previousStore} without computing the upper bound.
+   * This is the common case once the analysis of a loop approaches its fixpoint, and the equality
+   * test is cheap for stores that share their contents, such as a store and an unmodified copy of
+   * it.
+   *
    * @param newStore the new Store
    * @param previousStore the previous Store
    * @param shouldWiden should widen or not
@@ -512,6 +520,8 @@ public class ForwardAnalysisImpl<
   private S mergeStores(S newStore, @Nullable S previousStore, boolean shouldWiden) {
     if (previousStore == null) {
       return newStore;
+    } else if (newStore.equals(previousStore)) {
+      return previousStore;
     } else if (shouldWiden) {
       return newStore.widenedUpperBound(previousStore);
     } else {
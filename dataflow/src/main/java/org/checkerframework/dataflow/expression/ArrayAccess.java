@@ -15,6 +15,9 @@ public class ArrayAccess extends JavaExpression {
   /** The index; an expression of type int. */
   protected final JavaExpression index;
 
+  /** The cached result of {@link #hashCode()}, or 0 if it has not been computed yet. */
+  private int hash = 0;
+
   /**
    * Create a new ArrayAccess.
    *
@@ -71,6 +74,9 @@ public class ArrayAccess extends JavaExpression {
 
   @Override
   public boolean equals(@Nullable Object obj) {
+    if (this == obj) {
+      return true;
+    }
     if (!(obj instanceof ArrayAccess other)) {
       return false;
     }
@@ -79,7 +85,12 @@ public class ArrayAccess extends JavaExpression {
 
   @Override
   public int hashCode() {
-    return Objects.hash(array, index);
+    int result = hash;
+    if (result == 0) {
+      result = Objects.hash(array, index);
+      hash = result;
+    }
+    return result;
   }
 
   @Override
@@ -21,6 +21,9 @@ public class BinaryOperation extends JavaExpression {
   /** The right operand. */
   protected final JavaExpression right;
 
+  /** The cached result of {@link #hashCode()}, or 0 if it has not been computed yet. */
+  private int hash = 0;
+
   /**
    * Create a binary operation.
    *
@@ -105,6 +108,9 @@ public class BinaryOperation extends JavaExpression {
 
   @Override
   public boolean equals(@Nullable Object other) {
+    if (this == other) {
+      return true;
+    }
     if (!(other instanceof BinaryOperation biOp)) {
       return false;
     }
@@ -120,12 +126,18 @@ public class BinaryOperation extends JavaExpression {
 
   @Override
   public int hashCode() {
-    if (isCommutative()) {
-      // Use a commutative combination of the operands' hash codes so that equal operands in
-      // swapped order (for which `equals()` returns true) hash identically.
-      return Objects.hash(operationKind, left.hashCode() + right.hashCode());
+    int result = hash;
+    if (result == 0) {
+      if (isCommutative()) {
+        // Use a commutative combination of the operands' hash codes so that equal operands in
+        // swapped order (for which `equals()` returns true) hash identically.
+        result = Objects.hash(operationKind, left.hashCode() + right.hashCode());
+      } else {
+        result = Objects.hash(operationKind, left, right);
+      }
+      hash = result;
     }
-    return Objects.hash(operationKind, left, right);
+    return result;
   }
 
   @Override
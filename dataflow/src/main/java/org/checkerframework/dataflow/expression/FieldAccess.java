@@ -24,6 +24,12 @@ public class FieldAccess extends JavaExpression {
   /** The field being accessed. */
   protected final VariableElement field;
 
+  /**
+   * The hash code of this expression, or 0 if it has not been computed yet. Field accesses are
+   * frequently used as store keys, and the receiver chain can be long.
+   */
+  private int hash = 0;
+
   /**
    * Returns the receiver.
    *
@@ -96,6 +102,9 @@ public class FieldAccess extends JavaExpression {
 
   @Override
   public boolean equals(@Nullable Object obj) {
+    if (this == obj) {
+      return true;
+    }
     if (!(obj instanceof FieldAccess fa)) {
       return false;
     }
@@ -114,7 +123,12 @@ public class FieldAccess extends JavaExpression {
 
   @Override
   public int hashCode() {
-    return Objects.hash(getField(), getReceiver());
+    int result = hash;
+    if (result == 0) {
+      result = Objects.hash(getField(), getReceiver());
+      hash = result;
+    }
+    return result;
   }
 
   @Override
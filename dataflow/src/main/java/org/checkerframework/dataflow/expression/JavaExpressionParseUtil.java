@@ -3,6 +3,7 @@ package org.checkerframework.dataflow.expression;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.source.util.TreePath;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.annotation.processing.ProcessingEnvironment;
@@ -71,16 +72,69 @@ public final class JavaExpressionParseUtil {
       TreePath pathToCompilationUnit,
       ProcessingEnvironment env)
       throws JavaExpressionParseException {
+    return parse(
+        expression,
+        enclosingType,
+        thisReference,
+        parameters,
+        localVarPath,
+        pathToCompilationUnit,
+        env,
+        null);
+  }
+
+  /**
+   * Parses a string to a {@link JavaExpression}, reusing the parse tree of the string from {@code
+   * parseTreeCache} if it is there.
+   *
+   * <p>The parse tree of a string does not depend on where the string is written, so only its
+   * conversion to a {@code JavaExpression} is repeated for each use of the string. The cached trees
+   * are never attributed, and {@link ExpressionTreeToJavaExpressionVisitor} does not modify them.
+   * That is what makes it safe to reuse a tree.
+   *
+   * @param expression the string expression to parse
+   * @param enclosingType type of the class that encloses the JavaExpression
+   * @param thisReference the JavaExpression to which to parse "this", or null if "this" should not
+   *     appear in the expression; not relevant to qualified "SomeClass.this" or
+   *     "package.SomeClass.this"
+   * @param parameters list of JavaExpressions to which to parse formal parameter references such as
+   *     "#2", or null if formal parameter references should not appear in the expression
+   * @param localVarPath if non-null, the expression is parsed as if it were written at this
+   *     location; affects only parsing of local variables
+   * @param pathToCompilationUnit required to use the underlying Javac API
+   * @param env the processing environment
+   * @param parseTreeCache maps an expression string to its parse tree, in which formal parameter
+   *     references have been replaced by {@link #PARAMETER_PREFIX} identifiers; null if parse trees
+   *     should not be cached
+   * @return {@code expression} as a {@code JavaExpression}
+   * @throws JavaExpressionParseException if the string cannot be parsed
+   */
+  public static JavaExpression parse(
+      String expression,
+      TypeMirror enclosingType,
+      @Nullable ThisReference thisReference,
+      @Nullable List<FormalParameter> parameters,
+      @Nullable TreePath localVarPath,
+      TreePath pathToCompilationUnit,
+      ProcessingEnvironment env,
+      @Nullable Map<String, ExpressionTree> parseTreeCache)
+      throws JavaExpressionParseException {
 
-    String expressionWithParameterNames =
-        StringsP.replaceAll(expression, PARAMETER_PATTERN, PARAMETER_REPLACEMENT);
-    ExpressionTree exprTree;
-    try {
-      exprTree = JavacParse.parseExpression(expressionWithParameterNames);
-    } catch (IllegalArgumentException e) {
-      @SuppressWarnings("nullness:assignment") // presently always non-null; could change in future
-      @NonNull String msg = e.getMessage();
-      throw JavaExpressionParseException.construct(expression, msg);
+    ExpressionTree exprTree = parseTreeCache == null ? null : parseTreeCache.get(expression);
+    if (exprTree == null) {
+      String expressionWithParameterNames =
+          StringsP.replaceAll(expression, PARAMETER_PATTERN, PARAMETER_REPLACEMENT);
+      try {
+        exprTree = JavacParse.parseExpression(expressionWithParameterNames);
+      } catch (IllegalArgumentException e) {
+        // presently always non-null; could change in future
+        @SuppressWarnings("nullness:assignment")
+        @NonNull String msg = e.getMessage();
+        throw JavaExpressionParseException.construct(expression, msg);
+      }
+      if (parseTreeCache != null) {
+        parseTreeCache.put(expression, exprTree);
+      }
     }
 
     JavaExpression result =
@@ -24,6 +24,12 @@ public class MethodCall extends JavaExpression {
   /** The arguments. */
   protected final List<JavaExpression> arguments;
 
+  /**
+   * The cached result of {@link #hashCode()}, or 0 if it has not been computed yet. Unused for
+   * constructor calls, whose hash code is their identity hash code.
+   */
+  private int hash = 0;
+
   /**
    * Creates a new MethodCall.
    *
@@ -136,7 +142,12 @@ public class MethodCall extends JavaExpression {
     if (method.getKind() == ElementKind.CONSTRUCTOR) {
       return System.identityHashCode(this);
     }
-    return Objects.hash(method, receiver, arguments);
+    int result = hash;
+    if (result == 0) {
+      result = Objects.hash(method, receiver, arguments);
+      hash = result;
+    }
+    return result;
   }
 
   @Override
@@ -181,6 +181,35 @@ public abstract class BaseTypeChecker extends SourceChecker {
     return false;
   }
 
+  @Override
+  protected void printStats() {
+    super.printStats();
+    // The shutdown hook is registered only for the ultimate parent checker, so this also prints
+    // the statistics of the subcheckers.
+    printCacheStatistics(this);
+    for (SourceChecker checker : getSubcheckers()) {
+      if (checker instanceof BaseTypeChecker btc) {
+        printCacheStatistics(btc);
+      }
+    }
+  }
+
+  /**
+   * Prints the statistics of the type factory caches of the given checker, if it has a type
+   * factory.
+   *
+   * @param checker a checker
+   */
+  private static void printCacheStatistics(BaseTypeChecker checker) {
+    if (checker.getVisitor() == null) {
+      return;
+    }
+    System.out.println("Type factory caches of " + checker.getClass().getSimpleName());
+    for (String statistics : checker.getTypeFactory().getCacheStatistics()) {
+      System.out.println("  " + statistics);
+    }
+  }
+
   @Override
   protected void shutdownHook() {
     super.shutdownHook();
@@ -142,12 +142,12 @@ public abstract class CFAbstractStore<V extends CFAbstractValue<V>, S extends CF
    */
   protected CFAbstractStore(CFAbstractAnalysis<V, S, ?> analysis, boolean sequentialSemantics) {
     this.analysis = analysis;
-    this.localVariableValues = new HashMap<>();
+    this.localVariableValues = new CopyOnWriteHashMap<>();
     this.thisValue = null;
-    this.fieldValues = new HashMap<>();
-    this.methodCallExpressions = new HashMap<>();
-    this.arrayValues = new HashMap<>();
-    this.classValues = new HashMap<>();
+    this.fieldValues = new CopyOnWriteHashMap<>();
+    this.methodCallExpressions = new CopyOnWriteHashMap<>();
+    this.arrayValues = new CopyOnWriteHashMap<>();
+    this.classValues = new CopyOnWriteHashMap<>();
     this.sequentialSemantics = sequentialSemantics;
     this.assumeSideEffectFree =
         analysis.checker.hasOption("assumeSideEffectFree")
@@ -162,12 +162,12 @@ public abstract class CFAbstractStore<V extends CFAbstractValue<V>, S extends CF
    */
   protected CFAbstractStore(CFAbstractStore<V, S> other) {
     this.analysis = other.analysis;
-    this.localVariableValues = new HashMap<>(other.localVariableValues);
+    this.localVariableValues = CopyOnWriteHashMap.copyOf(other.localVariableValues);
     this.thisValue = other.thisValue;
-    this.fieldValues = new HashMap<>(other.fieldValues);
-    this.methodCallExpressions = new HashMap<>(other.methodCallExpressions);
-    this.arrayValues = new HashMap<>(other.arrayValues);
-    this.classValues = new HashMap<>(other.classValues);
+    this.fieldValues = CopyOnWriteHashMap.copyOf(other.fieldValues);
+    this.methodCallExpressions = CopyOnWriteHashMap.copyOf(other.methodCallExpressions);
+    this.arrayValues = CopyOnWriteHashMap.copyOf(other.arrayValues);
+    this.classValues = CopyOnWriteHashMap.copyOf(other.classValues);
     this.sequentialSemantics = other.sequentialSemantics;
     this.assumeSideEffectFree = other.assumeSideEffectFree;
     this.assumePureGetters = other.assumePureGetters;
@@ -518,7 +518,7 @@ public abstract class CFAbstractStore<V extends CFAbstractValue<V>, S extends CF
       GenericAnnotatedTypeFactory<V, S, ?, ?> atypeFactory,
       @Nullable JavaExpression unrefinableReceiverJe,
       @Nullable List<JavaExpression> sideEffectsOnlyExpressions) {
-    Map<FieldAccess, V> newFieldValues = new HashMap<>(MapsP.mapCapacity(fieldValues));
+    HashMap<FieldAccess, V> newFieldValues = new HashMap<>(MapsP.mapCapacity(fieldValues));
     for (Map.Entry<FieldAccess, V> e : fieldValues.entrySet()) {
       FieldAccess fieldAccess = e.getKey();
       V previousValue = e.getValue();
@@ -536,7 +536,7 @@ public abstract class CFAbstractStore<V extends CFAbstractValue<V>, S extends CF
         }
       }
     }
-    fieldValues = newFieldValues;
+    fieldValues = CopyOnWriteHashMap.wrap(newFieldValues);
   }
 
   /**
@@ -1417,40 +1417,33 @@ public abstract class CFAbstractStore<V extends CFAbstractValue<V>, S extends CF
    * predicate.
    */
   protected boolean supersetOf(CFAbstractStore<V, S> other) {
-    for (Map.Entry<LocalVariable, V> e : other.localVariableValues.entrySet()) {
-      LocalVariable key = e.getKey();
-      V value = localVariableValues.get(key);
-      if (value == null || !value.equals(e.getValue())) {
-        return false;
-      }
+    return mapSupersetOf(localVariableValues, other.localVariableValues)
+        && Objects.equals(thisValue, other.thisValue)
+        && mapSupersetOf(fieldValues, other.fieldValues)
+        && mapSupersetOf(arrayValues, other.arrayValues)
+        && mapSupersetOf(methodCallExpressions, other.methodCallExpressions)
+        && mapSupersetOf(classValues, other.classValues);
+  }
+
+  /**
+   * Returns true iff {@code mine} contains every entry of {@code theirs}. Takes constant time if the
+   * two maps are unmodified copies of one another.
+   *
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   * @param mine a map from this store
+   * @param theirs the corresponding map from another store
+   * @return true iff {@code mine} contains every entry of {@code theirs}
+   */
+  private static <K, V> boolean mapSupersetOf(Map<K, V> mine, Map<K, V> theirs) {
+    if (CopyOnWriteHashMap.sharesStorage(mine, theirs)) {
+      return true;
     }
-    if (!Objects.equals(thisValue, other.thisValue)) {
+    if (mine.size() < theirs.size()) {
       return false;
     }
-    for (Map.Entry<FieldAccess, V> e : other.fieldValues.entrySet()) {
-      FieldAccess key = e.getKey();
-      V value = fieldValues.get(key);
-      if (value == null || !value.equals(e.getValue())) {
-        return false;
-      }
-    }
-    for (Map.Entry<ArrayAccess, V> e : other.arrayValues.entrySet()) {
-      ArrayAccess key = e.getKey();
-      V value = arrayValues.get(key);
-      if (value == null || !value.equals(e.getValue())) {
-        return false;
-      }
-    }
-    for (Map.Entry<MethodCall, V> e : other.methodCallExpressions.entrySet()) {
-      MethodCall key = e.getKey();
-      V value = methodCallExpressions.get(key);
-      if (value == null || !value.equals(e.getValue())) {
-        return false;
-      }
-    }
-    for (Map.Entry<ClassName, V> e : other.classValues.entrySet()) {
-      ClassName key = e.getKey();
-      V value = classValues.get(key);
+    for (Map.Entry<K, V> e : theirs.entrySet()) {
+      V value = mine.get(e.getKey());
       if (value == null || !value.equals(e.getValue())) {
         return false;
       }
@@ -1460,7 +1453,9 @@ public abstract class CFAbstractStore<V extends CFAbstractValue<V>, S extends CF
 
   @Override
   public boolean equals(@Nullable Object o) {
-    if (o instanceof CFAbstractStore) {
+    if (this == o) {
+      return true;
+    } else if (o instanceof CFAbstractStore) {
       @SuppressWarnings("unchecked")
       CFAbstractStore<V, S> other = (CFAbstractStore<V, S>) o;
       return this.supersetOf(other) && other.supersetOf(this);
@@ -0,0 +1,305 @@
+package org.checkerframework.framework.flow;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A hash map whose copies share their storage until one of them is modified.
+ *
+ * <p>{@link CFAbstractStore#copy()} is called at every branch and before every transfer function
+ * that must not modify its input, but most copies are modified in at most one of their maps, or
+ * not at all. Copying a {@code CopyOnWriteHashMap} takes constant time; the underlying {@link
+ * HashMap} is cloned only when the copy, or the map it was copied from, is first modified.
+ *
+ * <p>Modifications through the views of the map, their iterators, and their entries are supported
+ * and also trigger the clone. An iterator continues to traverse the entries that were present when
+ * it was created, even if the map was cloned during the iteration. To keep read-only iterations
+ * cheap, an iterator over storage that is not shared returns the entries of the underlying {@link
+ * HashMap} itself, so {@code setValue} must not be called on an entry after the map has been
+ * copied.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class CopyOnWriteHashMap<K, V> extends AbstractMap<K, V> {
+
+  /** The entries of this map, which may be shared with other maps if {@link #shared} is true. */
+  private HashMap<K, V> map;
+
+  /**
+   * True if {@link #map} might also be the storage of another {@code CopyOnWriteHashMap}. This is
+   * conservative: it is not reset when the other map clones its storage.
+   */
+  private boolean shared;
+
+  /** The entry set view, created lazily. */
+  private @Nullable Set<Map.Entry<K, V>> entrySet;
+
+  /** Creates an empty map. */
+  CopyOnWriteHashMap() {
+    this.map = new HashMap<>();
+    this.shared = false;
+  }
+
+  /**
+   * Creates a map whose storage is {@code map}.
+   *
+   * @param map the storage of the new map
+   * @param shared true if {@code map} is also the storage of another map
+   */
+  private CopyOnWriteHashMap(HashMap<K, V> map, boolean shared) {
+    this.map = map;
+    this.shared = shared;
+  }
+
+  /**
+   * Returns a map with the same entries as {@code other}. If {@code other} is a {@code
+   * CopyOnWriteHashMap}, this takes constant time.
+   *
+   * @param <K> the type of keys
+   * @param <V> the type of values
+   * @param other the map to copy
+   * @return a copy of {@code other}
+   */
+  static <K, V> CopyOnWriteHashMap<K, V> copyOf(Map<K, V> other) {
+    if (other instanceof CopyOnWriteHashMap) {
+      CopyOnWriteHashMap<K, V> cow = (CopyOnWriteHashMap<K, V>) other;
+      cow.shared = true;
+      return new CopyOnWriteHashMap<>(cow.map, true);
+    }
+    return new CopyOnWriteHashMap<>(new HashMap<>(other), false);
+  }
+
+  /**
+   * Returns a map whose storage is {@code map}. The caller must not use {@code map} afterward.
+   *
+   * @param <K> the type of keys
+   * @param <V> the type of values
+   * @param map a map to take ownership of
+   * @return a map whose storage is {@code map}
+   */
+  static <K, V> CopyOnWriteHashMap<K, V> wrap(HashMap<K, V> map) {
+    return new CopyOnWriteHashMap<>(map, false);
+  }
+
+  /**
+   * Returns true if {@code m1} and {@code m2} are copies of one another that have not been modified
+   * since they were copied, and therefore have equal entries. A false result says nothing about
+   * whether their entries are equal.
+   *
+   * @param m1 a map
+   * @param m2 a map
+   * @return true if {@code m1} and {@code m2} are known to share their storage
+   */
+  @SuppressWarnings("interning:not.interned") // identity of the backing storage is what matters
+  static boolean sharesStorage(Map<?, ?> m1, Map<?, ?> m2) {
+    return m1 == m2
+        || (m1 instanceof CopyOnWriteHashMap
+            && m2 instanceof CopyOnWriteHashMap
+            && ((CopyOnWriteHashMap<?, ?>) m1).map == ((CopyOnWriteHashMap<?, ?>) m2).map);
+  }
+
+  /**
+   * Returns the storage of this map, first cloning it if it might be shared. Every modification
+   * must go through this method.
+   *
+   * @return the storage of this map, which is not shared
+   */
+  private HashMap<K, V> mutableMap() {
+    if (shared) {
+      map = new HashMap<>(map);
+      shared = false;
+    }
+    return map;
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return map.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(@Nullable Object value) {
+    return map.containsValue(value);
+  }
+
+  @Override
+  public @Nullable V get(@Nullable Object key) {
+    return map.get(key);
+  }
+
+  @Override
+  public @Nullable V put(K key, V value) {
+    return mutableMap().put(key, value);
+  }
+
+  @Override
+  public @Nullable V remove(@Nullable Object key) {
+    if (!map.containsKey(key)) {
+      return null;
+    }
+    return mutableMap().remove(key);
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> m) {
+    if (!m.isEmpty()) {
+      mutableMap().putAll(m);
+    }
+  }
+
+  @Override
+  public void clear() {
+    if (shared) {
+      map = new HashMap<>();
+      shared = false;
+    } else {
+      map.clear();
+    }
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  @Override
+  @SuppressWarnings("interning:not.interned") // identity of the backing storage is what matters
+  public boolean equals(@Nullable Object o) {
+    if (o instanceof CopyOnWriteHashMap) {
+      CopyOnWriteHashMap<?, ?> other = (CopyOnWriteHashMap<?, ?>) o;
+      return map == other.map || map.equals(other.map);
+    }
+    return map.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return map.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return map.toString();
+  }
+
+  /** The entry set view of a {@link CopyOnWriteHashMap}. */
+  private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    public void clear() {
+      CopyOnWriteHashMap.this.clear();
+    }
+  }
+
+  /**
+   * An iterator over the entries of a {@link CopyOnWriteHashMap}. It traverses the storage that the
+   * map had when the iterator was created. If the map still has that storage and does not share
+   * it, the iterator returns the entries of that storage and removals go directly to the underlying
+   * iterator. Otherwise it returns entries whose {@code setValue} writes to the map, and removals go
+   * to the map; either way, the map clones its storage first.
+   */
+  private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+    /** The storage being traversed. */
+    private final HashMap<K, V> traversed = map;
+
+    /** The iterator over {@link #traversed}. */
+    private final Iterator<Map.Entry<K, V>> delegate = traversed.entrySet().iterator();
+
+    /** The entry most recently returned by {@link #next}, or null. */
+    private Map.@Nullable Entry<K, V> last = null;
+
+    @Override
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    /**
+     * Returns true if {@link #traversed} is the storage of the map and is not shared, so that it may
+     * be modified directly.
+     *
+     * @return true if {@link #traversed} may be modified directly
+     */
+    @SuppressWarnings("interning:not.interned") // identity of the backing storage is what matters
+    private boolean ownsTraversed() {
+      return map == traversed && !shared;
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+      Map.Entry<K, V> entry = delegate.next();
+      last = entry;
+      // Wrap the entry only if its setValue could not write directly to the storage.
+      return ownsTraversed() ? entry : new Entry(entry);
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      if (ownsTraversed()) {
+        delegate.remove();
+      } else {
+        mutableMap().remove(last.getKey());
+      }
+      last = null;
+    }
+
+    /** An entry of a {@link CopyOnWriteHashMap} whose {@code setValue} writes through to the map. */
+    private final class Entry extends AbstractMap.SimpleEntry<K, V> {
+
+      /** The serial version UID. */
+      private static final long serialVersionUID = 1L;
+
+      /**
+       * Creates an entry that wraps the given entry of {@link #traversed}.
+       *
+       * @param entry an entry of {@link #traversed}
+       */
+      Entry(Map.Entry<K, V> entry) {
+        super(entry);
+      }
+
+      @Override
+      public V setValue(V value) {
+        if (!mutableMap().containsKey(getKey())) {
+          throw new NoSuchElementException("entry was removed: " + getKey());
+        }
+        map.put(getKey(), value);
+        return super.setValue(value);
+      }
+    }
+  }
+}
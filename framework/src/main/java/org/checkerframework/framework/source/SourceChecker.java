@@ -1280,6 +1280,11 @@ public abstract class SourceChecker extends AbstractTypeProcessor implements Opt
   /**
    * Type-check the code using this checker's visitor.
    *
+   * <p>Classes are type-checked one at a time, on the compiler's thread. All subcheckers share the
+   * compiler's (non-thread-safe) symbol table and log, and each type factory's caches and dataflow
+   * results assume a single current compilation unit, so classes cannot be type-checked
+   * concurrently.
+   *
    * @see Processor#process(Set, RoundEnvironment)
    */
   @Override
@@ -1300,6 +1305,10 @@ public abstract class SourceChecker extends AbstractTypeProcessor implements Opt
     Context context = ((JavacProcessingEnvironment) processingEnv).getContext();
     Log log = Log.instance(context);
 
+    // The subcheckers run one at a time, in order, even if they do not depend on one another.
+    // They share javac's (non-thread-safe) symbol table and log, the CFGs built by the first
+    // subchecker to run, and this checker's messageStore; and the error counts below assume that
+    // one subchecker finishes before the next one starts.
     int numErrorsOfAllPreviousCheckers = this.errsOnLastExit;
     for (SourceChecker subchecker : getSubcheckers()) {
       subchecker.errsOnLastExit = numErrorsOfAllPreviousCheckers;
@@ -3,19 +3,23 @@ package org.checkerframework.framework.stub;
 import com.sun.source.tree.CompilationUnitTree;
 import io.github.classgraph.ClassGraph;
 import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.JarURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -102,6 +106,13 @@ public class AnnotationFileElementTypes {
   /** True if -AstubDebug was passed on the command line. */
   private final boolean stubDebug;
 
+  /**
+   * The jar entry that lists the files of the annotated JDK, one per line, relative to the {@code
+   * annotated-jdk} directory. It is written by the {@code copyAndMinimizeAnnotatedJdkFiles} task in
+   * framework/build.gradle.
+   */
+  private static final String JDK_INDEX_FILE = "annotated-jdk/index.txt";
+
   /**
    * Creates an empty annotation source.
    *
@@ -160,19 +171,16 @@ public class AnnotationFileElementTypes {
     }
     parsing = true;
     BaseTypeChecker checker = factory.getChecker();
+    List<IPair<Class<?>, String>> jdkStubFiles =
+        ignorejdkastub ? Collections.emptyList() : jdkStubFiles(checker);
+    StubFiles stubFilesAnnotation = checker.getClass().getAnnotation(StubFiles.class);
+    prefetchBuiltinStubFiles(checker, jdkStubFiles, stubFilesAnnotation);
+
     if (!ignorejdkastub) {
       // 1. jdk.astub
       // Only look in .jar files, and parse it right away.
-      String jdkVersionStub = "jdk" + annotatedJdkVersion + ".astub";
-      parseOneStubFile(this.getClass(), "jdk.astub");
-      parseOneStubFile(this.getClass(), jdkVersionStub);
-      parseOneStubFile(checker.getClass(), "jdk.astub");
-      parseOneStubFile(checker.getClass(), jdkVersionStub);
-      // This needs to be special-cased for every jdkX.astub for which files exist. :-(
-      if (annotatedJdkVersion.equals("8")) {
-        String jdk11Stub = "jdk11.astub";
-        parseOneStubFile(this.getClass(), jdk11Stub);
-        parseOneStubFile(checker.getClass(), jdk11Stub);
+      for (IPair<Class<?>, String> jdkStubFile : jdkStubFiles) {
+        parseOneStubFile(jdkStubFile.first, jdkStubFile.second);
       }
 
       // 2. Annotated JDK
@@ -185,7 +193,6 @@ public class AnnotationFileElementTypes {
     }
 
     // 3. Stub files listed in @StubFiles annotation on the checker
-    StubFiles stubFilesAnnotation = checker.getClass().getAnnotation(StubFiles.class);
     if (stubFilesAnnotation != null) {
       parseAnnotationFiles(
           Arrays.asList(stubFilesAnnotation.value()), AnnotationFileType.BUILTIN_STUB);
@@ -209,6 +216,64 @@ public class AnnotationFileElementTypes {
     }
   }
 
+  /**
+   * Returns the jdk.astub files to parse, in order. Each is a pair of the class next to which the
+   * file is located and the basename of the file.
+   *
+   * @param checker the checker whose jdk.astub files to return
+   * @return the jdk.astub files to parse, in order
+   */
+  private List<IPair<Class<?>, String>> jdkStubFiles(BaseTypeChecker checker) {
+    String jdkVersionStub = "jdk" + annotatedJdkVersion + ".astub";
+    List<IPair<Class<?>, String>> result = new ArrayList<>(6);
+    result.add(IPair.of(this.getClass(), "jdk.astub"));
+    result.add(IPair.of(this.getClass(), jdkVersionStub));
+    result.add(IPair.of(checker.getClass(), "jdk.astub"));
+    result.add(IPair.of(checker.getClass(), jdkVersionStub));
+    // This needs to be special-cased for every jdkX.astub for which files exist. :-(
+    if (annotatedJdkVersion.equals("8")) {
+      String jdk11Stub = "jdk11.astub";
+      result.add(IPair.of(this.getClass(), jdk11Stub));
+      result.add(IPair.of(checker.getClass(), jdk11Stub));
+    }
+    return result;
+  }
+
+  /**
+   * Parses, in parallel, the annotation files that are bundled with the Checker Framework or with
+   * {@code checker}, so that {@link #parseStubFiles} finds their ASTs in {@link StubUnitCache}.
+   * Resolving the ASTs and merging their annotations is still done one file at a time, in the order
+   * documented at {@link #parseStubFiles}. Files in directories and {@code -Astubs} files are not
+   * prefetched.
+   *
+   * @param checker the checker whose annotation files to prefetch
+   * @param jdkStubFiles the result of {@link #jdkStubFiles}, or the empty list
+   * @param stubFilesAnnotation the {@code @StubFiles} annotation on the checker, or null
+   */
+  private void prefetchBuiltinStubFiles(
+      BaseTypeChecker checker,
+      List<IPair<Class<?>, String>> jdkStubFiles,
+      @Nullable StubFiles stubFilesAnnotation) {
+    List<URL> urls = new ArrayList<>();
+    for (IPair<Class<?>, String> jdkStubFile : jdkStubFiles) {
+      URL url = jdkStubFile.first.getResource(jdkStubFile.second);
+      if (url != null) {
+        urls.add(url);
+      }
+    }
+    List<String> checkerStubFiles = new ArrayList<>(checker.getExtraStubFiles());
+    if (stubFilesAnnotation != null) {
+      checkerStubFiles.addAll(Arrays.asList(stubFilesAnnotation.value()));
+    }
+    for (String stubFile : checkerStubFiles) {
+      URL url = checker.getClass().getResource(stubFile);
+      if (url != null) {
+        urls.add(url);
+      }
+    }
+    StubUnitCache.parseInParallel(urls);
+  }
+
   /**
    * Parse one .astub file.
    *
@@ -751,21 +816,31 @@ public class AnnotationFileElementTypes {
    * @param jarEntryName name of the jar entry to parse
    */
   private void parseJdkJarEntry(String jarEntryName) {
+    JarURLConnection connection = getJarURLConnectionToJdk();
+    try (JarFile jarFile = connection.getJarFile()) {
+      parseJdkJarEntry(jarFile, jarEntryName);
+    } catch (IOException e) {
+      throw new BugInCF("cannot open the Jar file " + connection.getEntryName(), e);
+    }
+  }
+
+  /**
+   * Parses the stub file in the given jar entry of the given, already open, jar file.
+   *
+   * @param jarFile the jar file that contains the annotated JDK
+   * @param jarEntryName name of the jar entry to parse
+   */
+  private void parseJdkJarEntry(JarFile jarFile, String jarEntryName) {
     if (stubDebug) {
       System.out.printf("entered parseJdkJarEntry(%s)%n", jarEntryName);
     }
 
-    JarURLConnection connection = getJarURLConnectionToJdk();
     parsing = true;
-    try (JarFile jarFile = connection.getJarFile()) {
-      try (InputStream jdkStub = jarFile.getInputStream(jarFile.getJarEntry(jarEntryName))) {
-        AnnotationFileParser.parseJdkFileAsStub(
-            jarEntryName, jdkStub, factory, factory.getProcessingEnv(), annotationFileAnnos);
-      } catch (IOException e) {
-        throw new BugInCF("cannot open the jdk stub file " + jarEntryName, e);
-      }
+    try (InputStream jdkStub = jarFile.getInputStream(jarFile.getJarEntry(jarEntryName))) {
+      AnnotationFileParser.parseJdkFileAsStub(
+          jarEntryName, jdkStub, factory, factory.getProcessingEnv(), annotationFileAnnos);
     } catch (IOException e) {
-      throw new BugInCF("cannot open the Jar file " + connection.getEntryName(), e);
+      throw new BugInCF("cannot open the jdk stub file " + jarEntryName, e);
     } catch (BugInCF e) {
       throw new BugInCF("Exception while parsing " + jarEntryName + ": " + e.getMessage(), e);
     } finally {
@@ -888,27 +963,36 @@ public class AnnotationFileElementTypes {
    * Walk through the JDK directory and create a mapping, {@link #remainingJdkStubFilesJar}, from
    * file name to the class contained within it. Also, parses all {@code package-info.java} files.
    *
+   * <p>The names of the annotated JDK files are read from {@link #JDK_INDEX_FILE}, which the build
+   * writes into checker.jar, so startup does not iterate over every entry of the jar. If the index
+   * is absent, the jar's entries are scanned instead.
+   *
    * @param jdkJarfile the URL pointing to the JDK jarfile
    */
   private void prepJdkFromJar(@SuppressWarnings("UnusedVariable") URL jdkJarfile) {
     JarURLConnection connection = getJarURLConnectionToJdk();
 
     try (JarFile jarFile = connection.getJarFile()) {
-      ArrayList<JarEntry> entries = CollectionsP.makeArrayList(jarFile.entries());
-      entries.sort(Comparator.comparing(Object::toString));
-      for (JarEntry jarEntry : entries) {
-        // filter out directories and non-Java files
-        if (jarEntry.isDirectory()) {
-          continue;
+      List<String> jarEntryNames = readJdkIndex(jarFile);
+      if (jarEntryNames == null) {
+        jarEntryNames = new ArrayList<>();
+        for (JarEntry jarEntry : CollectionsP.makeArrayList(jarFile.entries())) {
+          // filter out directories
+          if (!jarEntry.isDirectory()) {
+            jarEntryNames.add(jarEntry.getName());
+          }
         }
-        String jarEntryName = jarEntry.getName();
+        jarEntryNames.sort(Comparator.naturalOrder());
+      }
+      for (String jarEntryName : jarEntryNames) {
+        // filter out non-Java files
         if (!(jarEntryName.startsWith("annotated-jdk") && jarEntryName.endsWith(".java"))
             // JavaParser can't parse module-info files, so skip them.
             || jarEntryName.endsWith("module-info.java")) {
           continue;
         }
         if (parseAllJdkFiles || jarEntryName.endsWith("package-info.java")) {
-          parseJdkJarEntry(jarEntryName);
+          parseJdkJarEntry(jarFile, jarEntryName);
           continue;
         }
         int index = jarEntryName.indexOf("/share/classes/") + "/share/classes/".length();
@@ -926,8 +1010,8 @@ public class AnnotationFileElementTypes {
         System.out.printf(
             "End of remainingJdkStubFilesJar for %s from %s.%n", factoryClass, jarFileURL);
 
-        System.out.printf("Contents of %s:%n", jarFileURL);
-        printSortedIndented(entries.stream().map(JarEntry::getName).collect(Collectors.toList()));
+        System.out.printf("Annotated JDK files in %s:%n", jarFileURL);
+        printSortedIndented(jarEntryNames);
         System.out.printf("End of %s.%n", jarFileURL);
       }
     } catch (IOException e) {
@@ -935,6 +1019,30 @@ public class AnnotationFileElementTypes {
     }
   }
 
+  /**
+   * Returns the names of the annotated JDK entries of the given jar file, as listed in its {@link
+   * #JDK_INDEX_FILE}, or null if the jar file has no index.
+   *
+   * @param jarFile the jar file that contains the annotated JDK
+   * @return the sorted names of the jar entries of the annotated JDK, or null
+   * @throws IOException if the index cannot be read
+   */
+  private @Nullable List<String> readJdkIndex(JarFile jarFile) throws IOException {
+    JarEntry indexEntry = jarFile.getJarEntry(JDK_INDEX_FILE);
+    if (indexEntry == null) {
+      return null;
+    }
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(jarFile.getInputStream(indexEntry), StandardCharsets.UTF_8))) {
+      return reader
+          .lines()
+          .filter(line -> !line.isEmpty())
+          .map(line -> "annotated-jdk/" + line)
+          .collect(Collectors.toList());
+    }
+  }
+
   /**
    * Print the strings, in order, each on its own line, indented by two spaces.
    *
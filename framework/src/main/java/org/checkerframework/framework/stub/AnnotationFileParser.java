@@ -747,7 +747,9 @@ public final class AnnotationFileParser {
    * #stubUnit}. Also sets {@link #allAnnotations}. Does not copy annotations out of {@link
    * #stubUnit}; that is done by the {@code process*} methods.
    *
-   * <p>Subsequently, all work uses the AST.
+   * <p>Subsequently, all work uses the AST. Except for ajava files, whose AST is modified before
+   * processing, the AST comes from {@link StubUnitCache} and may be shared with other type
+   * factories.
    *
    * @param inputStream the stream from which to read an annotation file
    */
@@ -755,7 +757,10 @@ public final class AnnotationFileParser {
     stubDebug(
         "started parsing annotation file %s for %s",
         filename, atypeFactory.getClass().getSimpleName());
-    stubUnit = JavaParserUtil.parseStubUnit(inputStream);
+    stubUnit =
+        fileType == AnnotationFileType.AJAVA
+            ? JavaParserUtil.parseStubUnit(inputStream)
+            : StubUnitCache.parseStubUnit(inputStream);
 
     // getImportedAnnotations() also modifies importedConstants and importedTypes. This should
     // be refactored to be nicer.
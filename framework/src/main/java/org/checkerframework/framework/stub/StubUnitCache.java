@@ -0,0 +1,176 @@
+package org.checkerframework.framework.stub;
+
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.StubUnit;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.util.JavaParserUtil;
+import org.checkerframework.javacutil.BugInCF;
+
+/**
+ * A cache of the ASTs of annotation files, keyed by the content of the file.
+ *
+ * <p>Parsing an annotation file into a {@link StubUnit} does not depend on the compilation, so one
+ * AST can be shared by all the type factories of a compilation (for example, every subchecker of a
+ * compound checker reads {@code jdk.astub}) and by later compilations in the same JVM, such as those
+ * run by a build daemon. Resolving the AST against javac's elements does depend on the compilation,
+ * so {@link AnnotationFileParser} still does that each time.
+ *
+ * <p>The methods of this class may be called concurrently. {@link #parseInParallel} uses this to
+ * parse several files at once.
+ *
+ * <p>The ASTs are softly reachable, so the cache never causes an {@link OutOfMemoryError}. Clients
+ * must not modify a cached AST.
+ */
+final class StubUnitCache {
+
+  /** Do not instantiate. */
+  private StubUnitCache() {
+    throw new Error("Do not instantiate");
+  }
+
+  /** Maps the SHA-256 digest of an annotation file's content to its AST. */
+  private static final Map<String, KeyedReference> cache = new ConcurrentHashMap<>();
+
+  /** The references in {@link #cache} whose ASTs have been cleared by the garbage collector. */
+  private static final ReferenceQueue<StubUnit> clearedReferences = new ReferenceQueue<>();
+
+  /** A soft reference to an AST that remembers its key in {@link #cache}. */
+  private static final class KeyedReference extends SoftReference<StubUnit> {
+
+    /** The key of this reference in {@link #cache}. */
+    final String key;
+
+    /**
+     * Creates a reference to {@code stubUnit} that is registered with {@link #clearedReferences}.
+     *
+     * @param key the key of this reference in {@link #cache}
+     * @param stubUnit the AST
+     */
+    KeyedReference(String key, StubUnit stubUnit) {
+      super(stubUnit, clearedReferences);
+      this.key = key;
+    }
+  }
+
+  /**
+   * Returns the AST of the annotation file read from {@code inputStream}, parsing it only if a file
+   * with the same content has not already been parsed.
+   *
+   * @param inputStream the stream from which to read an annotation file
+   * @return the AST of the annotation file; must not be modified
+   * @throws ParseProblemException if the file cannot be read or has parse errors
+   */
+  static StubUnit parseStubUnit(InputStream inputStream) {
+    byte[] content;
+    try {
+      content = inputStream.readAllBytes();
+    } catch (IOException e) {
+      throw new ParseProblemException(e);
+    }
+    String key = digest(content);
+    StubUnit result = get(key);
+    if (result == null) {
+      result = JavaParserUtil.parseStubUnit(new ByteArrayInputStream(content));
+      put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Parses, concurrently, each of the given annotation files whose AST is not already cached, so
+   * that later calls to {@link #parseStubUnit} find it in the cache. Files that cannot be read, or
+   * whose parsing throws an exception, are skipped; {@link #parseStubUnit} reports the problem when
+   * it is called on them.
+   *
+   * @param urls the locations of annotation files
+   */
+  static void parseInParallel(List<URL> urls) {
+    Map<String, byte[]> toParse = new HashMap<>();
+    for (URL url : urls) {
+      try (InputStream in = url.openStream()) {
+        byte[] content = in.readAllBytes();
+        String key = digest(content);
+        if (get(key) == null) {
+          toParse.put(key, content);
+        }
+      } catch (IOException e) {
+        // parseStubUnit will report the problem.
+      }
+    }
+    if (toParse.size() < 2) {
+      // Parsing a single file in another thread would not save any time.
+      return;
+    }
+    toParse
+        .entrySet()
+        .parallelStream()
+        .forEach(
+            entry -> {
+              try {
+                StubUnit stubUnit =
+                    JavaParserUtil.parseStubUnit(new ByteArrayInputStream(entry.getValue()));
+                put(entry.getKey(), stubUnit);
+              } catch (RuntimeException e) {
+                // Prefetching is best-effort.  parseStubUnit, which runs on the compiler thread,
+                // will report the problem.
+              }
+            });
+  }
+
+  /**
+   * Returns the cached AST for the given key, or null if it was never cached or has been cleared.
+   *
+   * @param key the digest of an annotation file's content
+   * @return the cached AST for the given key, or null
+   */
+  private static @Nullable StubUnit get(String key) {
+    SoftReference<StubUnit> ref = cache.get(key);
+    return ref == null ? null : ref.get();
+  }
+
+  /**
+   * Caches {@code stubUnit} under the given key. Also removes the entries whose ASTs have been
+   * cleared, so that their keys do not accumulate in a long-lived JVM.
+   *
+   * @param key the digest of an annotation file's content
+   * @param stubUnit the AST of the annotation file
+   */
+  private static void put(String key, StubUnit stubUnit) {
+    Reference<? extends StubUnit> cleared;
+    while ((cleared = clearedReferences.poll()) != null) {
+      KeyedReference ref = (KeyedReference) cleared;
+      // The entry may already have been replaced by a reference to a newly parsed AST.
+      cache.remove(ref.key, ref);
+    }
+    cache.put(key, new KeyedReference(key, stubUnit));
+  }
+
+  /**
+   * Returns the SHA-256 digest of {@code content}, as a hexadecimal string.
+   *
+   * @param content the content of a file
+   * @return the SHA-256 digest of {@code content}
+   */
+  private static String digest(byte[] content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256.
+      throw new BugInCF(e);
+    }
+  }
+}
@@ -95,6 +95,7 @@ import org.checkerframework.common.wholeprograminference.WholeProgramInferenceIm
 import org.checkerframework.common.wholeprograminference.WholeProgramInferenceJavaParserStorage;
 import org.checkerframework.common.wholeprograminference.WholeProgramInferenceJavaParserStorage.InferredDeclared;
 import org.checkerframework.common.wholeprograminference.WholeProgramInferenceScenesStorage;
+import org.checkerframework.dataflow.expression.JavaExpression;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.checkerframework.dataflow.qual.SideEffectsOnly;
 import org.checkerframework.framework.qual.AnnotatedFor;
@@ -123,6 +124,8 @@ import org.checkerframework.framework.util.AnnotatedTypes;
 import org.checkerframework.framework.util.AnnotatedTypes.TypeArguments;
 import org.checkerframework.framework.util.CheckerMain;
 import org.checkerframework.framework.util.FieldInvariants;
+import org.checkerframework.framework.util.LruCache;
+import org.checkerframework.framework.util.StringToJavaExpression;
 import org.checkerframework.framework.util.TreePathCacher;
 import org.checkerframework.framework.util.TypeInformationPresenter;
 import org.checkerframework.framework.util.typeinference8.DefaultTypeArgumentInference;
@@ -557,6 +560,29 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
   /** Mapping from an Element to the source Tree of the declaration. */
   private final Map<Element, Tree> elementToTreeCache;
 
+  /**
+   * Mapping from a receiver type and a class to the substitution for the type variables of the
+   * class and of its enclosing classes, when the class is viewed as a supertype of the receiver
+   * type. Used by {@link AnnotatedTypes#asMemberOf}.
+   */
+  private final Map<
+          IPair<AnnotatedTypeMirror, TypeElement>, Map<TypeVariable, AnnotatedTypeMirror>>
+      typeVarMappingsCache;
+
+  /**
+   * Mapping from an expression string and a method to the result of parsing the string as if it
+   * were written at the method's declaration. Used by {@link StringToJavaExpression#atMethodDecl}.
+   */
+  private final Map<IPair<String, ExecutableElement>, JavaExpression> methodDeclExpressionCache;
+
+  /**
+   * Mapping from an expression string to its parse tree. Used by {@link StringToJavaExpression}.
+   * The parse tree of a string does not depend on the compilation unit, so this cache is not
+   * cleared. The trees are shared by all uses of a string in the compilation. That is safe only
+   * because they are never attributed or modified.
+   */
+  private final Map<String, ExpressionTree> parseTreeCache;
+
   /** Mapping from a Tree to its TreePath. Shared between all instances. */
   private final TreePathCacher treePathCache;
 
@@ -621,12 +647,15 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
     this.shouldCache = !checker.hasOption("atfDoNotCache");
     if (shouldCache) {
       int cacheSize = getCacheSize();
-      this.classAndMethodTreeCache = MapsP.createLruCache(cacheSize);
-      this.fromExpressionTreeCache = MapsP.createLruCache(cacheSize);
-      this.fromMemberTreeCache = MapsP.createLruCache(cacheSize);
-      this.fromTypeTreeCache = MapsP.createLruCache(cacheSize);
-      this.elementCache = MapsP.createLruCache(cacheSize);
-      this.elementToTreeCache = MapsP.createLruCache(cacheSize);
+      this.classAndMethodTreeCache = new LruCache<>("classAndMethodTreeCache", cacheSize);
+      this.fromExpressionTreeCache = new LruCache<>("fromExpressionTreeCache", cacheSize);
+      this.fromMemberTreeCache = new LruCache<>("fromMemberTreeCache", cacheSize);
+      this.fromTypeTreeCache = new LruCache<>("fromTypeTreeCache", cacheSize);
+      this.elementCache = new LruCache<>("elementCache", cacheSize);
+      this.elementToTreeCache = new LruCache<>("elementToTreeCache", cacheSize);
+      this.typeVarMappingsCache = new LruCache<>("typeVarMappingsCache", cacheSize);
+      this.methodDeclExpressionCache = new LruCache<>("methodDeclExpressionCache", cacheSize);
+      this.parseTreeCache = new LruCache<>("parseTreeCache", cacheSize);
       this.annotationClassNames =
           Collections.synchronizedMap(MapsP.createLruCache(ANNOTATION_CACHE_SIZE));
     } else {
@@ -636,6 +665,9 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
       this.fromTypeTreeCache = null;
       this.elementCache = null;
       this.elementToTreeCache = null;
+      this.typeVarMappingsCache = null;
+      this.methodDeclExpressionCache = null;
+      this.parseTreeCache = null;
       this.annotationClassNames = null;
     }
 
@@ -958,6 +990,10 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
       artificialTreeToEnclosingElementMap.clear();
     }
 
+    if (typeHierarchy instanceof DefaultTypeHierarchy defaultTypeHierarchy) {
+      defaultTypeHierarchy.clearVisitHistories();
+    }
+
     if (shouldCache) {
       // Clear the caches with trees because once the compilation unit changes,
       // the trees may be modified and lose type arguments.
@@ -966,6 +1002,9 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
       fromMemberTreeCache.clear();
       fromTypeTreeCache.clear();
       classAndMethodTreeCache.clear();
+      typeVarMappingsCache.clear();
+      // Names in the expressions are resolved in the current compilation unit.
+      methodDeclExpressionCache.clear();
 
       // There is no need to clear the following cache, it is limited by cache size and it
       // contents won't change between compilation units.
@@ -1378,7 +1417,7 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
    *
    * @return cache size passed as argument to checker or DEFAULT_CACHE_SIZE
    */
-  protected int getCacheSize() {
+  public int getCacheSize() {
     String option = checker.getOption("atfCacheSize");
     if (option == null) {
       return DEFAULT_CACHE_SIZE;
@@ -1394,6 +1433,66 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
     }
   }
 
+  /**
+   * Returns a one-line summary of the use of each of this factory's caches. Used by {@code
+   * -AresourceStats}. Subclasses that add caches may override this method.
+   *
+   * @return a summary of the use of each of this factory's caches
+   */
+  public List<String> getCacheStatistics() {
+    List<String> result = new ArrayList<>();
+    LruCache.addStatistics(
+        result,
+        classAndMethodTreeCache,
+        fromExpressionTreeCache,
+        fromMemberTreeCache,
+        fromTypeTreeCache,
+        elementCache,
+        elementToTreeCache,
+        typeVarMappingsCache,
+        methodDeclExpressionCache,
+        parseTreeCache);
+    if (typeHierarchy instanceof DefaultTypeHierarchy defaultTypeHierarchy) {
+      result.add(defaultTypeHierarchy.isSubtypeVisitHistory.statistics("isSubtypeVisitHistory"));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the cache that {@link AnnotatedTypes#asMemberOf} uses for the substitution of the type
+   * variables of a class when it is viewed as a supertype of a receiver type, or null if this
+   * factory does not cache. Keys are copies of the receiver type; values must not be modified.
+   *
+   * @return the cache of type variable substitutions, or null
+   */
+  public @Nullable Map<
+          IPair<AnnotatedTypeMirror, TypeElement>, Map<TypeVariable, AnnotatedTypeMirror>>
+      getTypeVarMappingsCache() {
+    return typeVarMappingsCache;
+  }
+
+  /**
+   * Returns the cache that {@link StringToJavaExpression#atMethodDecl} uses, or null if this factory
+   * does not cache. It maps an expression string and a method to the result of parsing the string
+   * at the method's declaration, in the current compilation unit.
+   *
+   * @return the cache of expressions parsed at method declarations, or null
+   */
+  public @Nullable Map<IPair<String, ExecutableElement>, JavaExpression>
+      getMethodDeclExpressionCache() {
+    return methodDeclExpressionCache;
+  }
+
+  /**
+   * Returns the cache that {@link StringToJavaExpression} uses for the parse trees of expression
+   * strings, or null if this factory does not cache. The trees must not be modified.
+   *
+   * @return the cache of parse trees of expression strings, or null
+   */
+  public @Nullable Map<String, ExpressionTree> getParseTreeCache() {
+    return parseTreeCache;
+  }
+
   /**
    * Returns an AnnotatedTypeMirror representing the annotated type of {@code elt}.
    *
@@ -1443,8 +1542,11 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
     if (tree == null) {
       throw new BugInCF("AnnotatedTypeFactory.getAnnotatedType: null tree");
     }
-    if (shouldCache && classAndMethodTreeCache.containsKey(tree)) {
-      return classAndMethodTreeCache.get(tree).deepCopy();
+    if (shouldCache) {
+      AnnotatedTypeMirror cached = classAndMethodTreeCache.get(tree);
+      if (cached != null) {
+        return cached.deepCopy();
+      }
     }
 
     AnnotatedTypeMirror type;
@@ -1595,8 +1697,11 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
    * @return AnnotatedTypeMirror of the element with explicitly-written and stub file annotations
    */
   public AnnotatedTypeMirror fromElement(Element elt) {
-    if (shouldCache && elementCache.containsKey(elt)) {
-      return elementCache.get(elt).deepCopy();
+    if (shouldCache) {
+      AnnotatedTypeMirror cached = elementCache.get(elt);
+      if (cached != null) {
+        return cached.deepCopy();
+      }
     }
     if (elt.getKind() == ElementKind.PACKAGE) {
       return toAnnotatedType(elt.asType(), false);
@@ -1687,8 +1792,11 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
       throw new BugInCF(
           "AnnotatedTypeFactory.fromMember: not a method or variable declaration: " + tree);
     }
-    if (shouldCache && fromMemberTreeCache.containsKey(tree)) {
-      return fromMemberTreeCache.get(tree).deepCopy();
+    if (shouldCache) {
+      AnnotatedTypeMirror cached = fromMemberTreeCache.get(tree);
+      if (cached != null) {
+        return cached.deepCopy();
+      }
     }
     AnnotatedTypeMirror result = TypeFromTree.fromMember(this, tree);
 
@@ -1781,9 +1889,12 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
    */
   private AnnotatedTypeMirror fromExpression(ExpressionTree tree) {
     logGat("fromExpression(%s) of kind %s%n", tree, tree.getKind());
-    if (shouldCache && fromExpressionTreeCache.containsKey(tree)) {
-      logGat("fromExpression(%s) => [cached] %s%n", tree, fromExpressionTreeCache.get(tree));
-      return fromExpressionTreeCache.get(tree).deepCopy();
+    if (shouldCache) {
+      AnnotatedTypeMirror cached = fromExpressionTreeCache.get(tree);
+      if (cached != null) {
+        logGat("fromExpression(%s) => [cached] %s%n", tree, cached);
+        return cached.deepCopy();
+      }
     }
 
     AnnotatedTypeMirror result = TypeFromTree.fromExpression(this, tree);
@@ -1813,8 +1924,11 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
    * @return the (partially) annotated type of the type in the AST
    */
   /*package-private*/ final AnnotatedTypeMirror fromTypeTree(Tree tree) {
-    if (shouldCache && fromTypeTreeCache.containsKey(tree)) {
-      return fromTypeTreeCache.get(tree).deepCopy();
+    if (shouldCache) {
+      AnnotatedTypeMirror cached = fromTypeTreeCache.get(tree);
+      if (cached != null) {
+        return cached.deepCopy();
+      }
     }
 
     AnnotatedTypeMirror result = TypeFromTree.fromTypeTree(this, tree);
@@ -3696,8 +3810,13 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
     if (root == null) {
       return null;
     }
-    if (shouldCache && elementToTreeCache.containsKey(elt)) {
-      return elementToTreeCache.get(elt);
+    if (shouldCache) {
+      Tree cached = elementToTreeCache.get(elt);
+      // The cache maps an element whose declaration is not available to null, so only a null
+      // result needs a second lookup.
+      if (cached != null || elementToTreeCache.containsKey(elt)) {
+        return cached;
+      }
     }
 
     // Check for new declarations, outside of the AST.
@@ -111,6 +111,15 @@ public class DefaultTypeHierarchy extends AbstractAtmComboVisitor<Boolean, Void>
         TreeUtils.getMethod(Covariant.class, "value", 0, checker.getProcessingEnvironment());
   }
 
+  /**
+   * Removes all the results from {@link #isSubtypeVisitHistory} and {@link #areEqualVisitHistory}.
+   * Called for each compilation unit, so that the histories do not grow without bound.
+   */
+  public void clearVisitHistories() {
+    isSubtypeVisitHistory.clear();
+    areEqualVisitHistory.clear();
+  }
+
   /**
    * Create the equality comparer.
    *
@@ -108,6 +108,7 @@ import org.checkerframework.framework.type.typeannotator.PropagationTypeAnnotato
 import org.checkerframework.framework.type.typeannotator.TypeAnnotator;
 import org.checkerframework.framework.util.Contract;
 import org.checkerframework.framework.util.ContractsFromMethod;
+import org.checkerframework.framework.util.LruCache;
 import org.checkerframework.framework.util.StringToJavaExpression;
 import org.checkerframework.framework.util.defaults.QualifierDefaults;
 import org.checkerframework.framework.util.dependenttypes.DependentTypesHelper;
@@ -310,6 +311,10 @@ public abstract class GenericAnnotatedTypeFactory<
    * any checker for which getParentChecker() returns non-null). This map is also unused (and
    * therefore null) for a checker with no subcheckers with which it can share CFGs.
    *
+   * <p>The CFGs are shared even if {@link #shouldCache} is false: a superchecker that queries the
+   * stores of a subchecker looks them up by the {@link Node}s of its own CFG, so the two must use
+   * the same CFG.
+   *
    * <p>The initial capacity of the map is set by {@link #getCacheSize()}.
    */
   protected @MonotonicNonNull Map<Tree, ControlFlowGraph> subcheckerSharedCFG;
@@ -357,8 +362,8 @@ public abstract class GenericAnnotatedTypeFactory<
 
     if (shouldCache) {
       int cacheSize = getCacheSize();
-      flowResultAnalysisCaches = MapsP.createLruCache(cacheSize);
-      initializerCache = MapsP.createLruCache(cacheSize);
+      flowResultAnalysisCaches = new LruCache<>("flowResultAnalysisCaches", cacheSize);
+      initializerCache = new LruCache<>("initializerCache", cacheSize);
     } else {
       flowResultAnalysisCaches = null;
       initializerCache = null;
@@ -467,21 +472,22 @@ public abstract class GenericAnnotatedTypeFactory<
       this.flowResultAnalysisCaches.clear();
       this.initializerCache.clear();
       this.defaultQualifierForUseTypeAnnotator.clearCache();
+      this.dependentTypesHelper.clearCache();
+    }
 
-      if (this.checker.getParentChecker() == null) {
-        // This is an ultimate parent checker, so after it runs the shared CFG it is using
-        // will no longer be needed, and can be cleared.
-        this.shouldClearSubcheckerSharedCFGs = true;
-        if (this.checker.getSubcheckers().isEmpty()) {
-          // If this checker has no subcheckers, then any maps that are currently
-          // being maintained should be cleared right away.
-          clearSharedCFG(this);
-        }
-      } else {
-        GenericAnnotatedTypeFactory<?, ?, ?, ?> ultimateParentATF =
-            this.checker.getUltimateParentChecker().getTypeFactory();
-        clearSharedCFG(ultimateParentATF);
+    if (this.checker.getParentChecker() == null) {
+      // This is an ultimate parent checker, so after it runs the shared CFG it is using
+      // will no longer be needed, and can be cleared.
+      this.shouldClearSubcheckerSharedCFGs = true;
+      if (this.checker.getSubcheckers().isEmpty()) {
+        // If this checker has no subcheckers, then any maps that are currently
+        // being maintained should be cleared right away.
+        clearSharedCFG(this);
       }
+    } else {
+      GenericAnnotatedTypeFactory<?, ?, ?, ?> ultimateParentATF =
+          this.checker.getUltimateParentChecker().getTypeFactory();
+      clearSharedCFG(ultimateParentATF);
     }
   }
 
@@ -1313,6 +1319,11 @@ public abstract class GenericAnnotatedTypeFactory<
       IPair<ClassTree, Store> qel = classQueue.remove();
       ClassTree ct = qel.first;
       Store capturedStore = qel.second;
+      if (ct != classTree && checker.shouldSkipDefs(ct)) {
+        // BaseTypeVisitor#visitClass does not check this nested class, so nothing will use the
+        // result of analyzing it.
+        continue;
+      }
       scannedClasses.put(ct, ScanState.IN_PROGRESS);
 
       TreePath preTreePath = getVisitorTreePath();
@@ -1358,6 +1369,11 @@ public abstract class GenericAnnotatedTypeFactory<
               if (mt.getBody() == null) {
                 break;
               }
+              // Skip methods that BaseTypeVisitor#visitMethod does not check, together with
+              // the lambdas and classes in them.
+              if (checker.shouldSkipDefs(ct, mt)) {
+                break;
+              }
 
               // Wait with scanning the method until all other members
               // have been processed.
@@ -1716,6 +1732,15 @@ public abstract class GenericAnnotatedTypeFactory<
   /** True if handling CFG visualization is necessary. */
   private final boolean handleCFGViz;
 
+  @Override
+  public List<String> getCacheStatistics() {
+    List<String> result = super.getCacheStatistics();
+    LruCache.addStatistics(result, flowResultAnalysisCaches, initializerCache);
+    result.addAll(defaults.getCacheStatistics());
+    result.addAll(dependentTypesHelper.getCacheStatistics());
+    return result;
+  }
+
   /**
    * Handle the visualization of the CFG, if necessary.
    *
@@ -2168,10 +2193,8 @@ public abstract class GenericAnnotatedTypeFactory<
 
     VariableElement variableElt = (VariableElement) elt;
     variablesUnderInitialization.add(variableElt);
-    AnnotatedTypeMirror initializerType;
-    if (shouldCache && initializerCache.containsKey(initializer)) {
-      initializerType = initializerCache.get(initializer);
-    } else {
+    AnnotatedTypeMirror initializerType = shouldCache ? initializerCache.get(initializer) : null;
+    if (initializerType == null) {
       // When this method is called by getAnnotatedTypeLhs, flow is turned off.
       // Turn it back on so the type of the initializer is the refined type.
       boolean oldUseFlow = useFlow;
@@ -2181,6 +2204,9 @@ public abstract class GenericAnnotatedTypeFactory<
       } finally {
         useFlow = oldUseFlow;
       }
+      if (shouldCache) {
+        initializerCache.put(initializer, initializerType);
+      }
     }
 
     AnnotationMirrorSet qualParamTypes = new AnnotationMirrorSet();
@@ -2193,9 +2219,6 @@ public abstract class GenericAnnotatedTypeFactory<
 
     type.addMissingAnnotations(qualParamTypes);
     variablesUnderInitialization.remove(variableElt);
-    if (shouldCache) {
-      initializerCache.put(initializer, initializerType);
-    }
   }
 
   /**
@@ -3002,9 +3025,6 @@ public abstract class GenericAnnotatedTypeFactory<
    * @return true if a shared CFG was found to actually add to (duplicate keys also return true)
    */
   public boolean addSharedCFGForTree(Tree tree, ControlFlowGraph cfg) {
-    if (!shouldCache) {
-      return false;
-    }
     BaseTypeChecker parentChecker = this.checker.getUltimateParentChecker();
     @SuppressWarnings("interning") // Checking reference equality.
     boolean parentIsThisChecker = parentChecker == this.checker;
@@ -3043,9 +3063,6 @@ public abstract class GenericAnnotatedTypeFactory<
    *     available
    */
   public @Nullable ControlFlowGraph getSharedCFGForTree(Tree tree) {
-    if (!shouldCache) {
-      return null;
-    }
     BaseTypeChecker parentChecker = this.checker.getUltimateParentChecker();
     @SuppressWarnings("interning") // Checking reference equality.
     boolean parentIsThisChecker = parentChecker == this.checker;
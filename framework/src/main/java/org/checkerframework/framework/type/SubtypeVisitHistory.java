@@ -20,8 +20,11 @@ import org.plumelib.util.IPair;
  * but with a different supertype. For example, if the two types are {@code @A T extends @B
  * Serializable<T>} and {@code @C Serializable<?>}, then isSubtype is first called on those types
  * and then on {@code @B Serializable<T>} and {@code @C Serializable<?>}.
+ *
+ * <p>The history persists across calls to isSubtype, so it also saves recomputing subtype
+ * relationships that hold. {@link AnnotatedTypeFactory#setRoot} clears it for each compilation
+ * unit, which bounds its size.
  */
-// TODO: do we need to clear the history sometimes?
 public class SubtypeVisitHistory {
 
   /**
@@ -30,6 +33,12 @@ public class SubtypeVisitHistory {
    */
   private final Map<IPair<AnnotatedTypeMirror, AnnotatedTypeMirror>, AnnotationMirrorSet> visited;
 
+  /** The number of calls to {@link #contains} that returned true. */
+  private long hits = 0;
+
+  /** The number of calls to {@link #contains} that returned false. */
+  private long misses = 0;
+
   /** Creates a new SubtypeVisitHistory. */
   public SubtypeVisitHistory() {
     this.visited = new HashMap<>();
@@ -90,7 +99,31 @@ public class SubtypeVisitHistory {
       AnnotatedTypeMirror type1, AnnotatedTypeMirror type2, AnnotationMirror currentTop) {
     IPair<AnnotatedTypeMirror, AnnotatedTypeMirror> key = IPair.of(type1, type2);
     AnnotationMirrorSet hit = visited.get(key);
-    return hit != null && hit.contains(currentTop);
+    boolean result = hit != null && hit.contains(currentTop);
+    if (result) {
+      hits++;
+    } else {
+      misses++;
+    }
+    return result;
+  }
+
+  /** Removes all the visits from this history. The statistics are not reset. */
+  public void clear() {
+    visited.clear();
+  }
+
+  /**
+   * Returns a one-line summary of the use of this history.
+   *
+   * @param name the name of this history, to include in the summary
+   * @return a one-line summary of the use of this history
+   */
+  public String statistics(String name) {
+    long lookups = hits + misses;
+    return String.format(
+        "%s: %d hits, %d misses (%.1f%% hit rate), %d entries",
+        name, hits, misses, lookups == 0 ? 0.0 : 100.0 * hits / lookups, visited.size());
   }
 
   @Override
@@ -503,6 +503,94 @@ public final class AnnotatedTypes {
     //      supertype of passed type)
     // 3. Substitute for type variables if any exist
     TypeElement enclosingClassOfMember = ElementUtils.enclosingTypeElement(member);
+    Map<TypeVariable, AnnotatedTypeMirror> mappings =
+        getTypeVarMappings(types, atypeFactory, receiverType, enclosingClassOfMember);
+
+    if (!mappings.isEmpty()) {
+      memberType = atypeFactory.getTypeVarSubstitutor().substitute(mappings, memberType);
+    }
+
+    return memberType;
+  }
+
+  /**
+   * Returns the substitution for the type variables of {@code enclosingClassOfMember} and of the
+   * classes that enclose it, when it is viewed as a supertype of {@code receiverType}. The result is
+   * cached by the type factory unless computing it requires capture conversion, which creates fresh
+   * type variables, or {@code receiverType} is enclosed by a parameterized type (see {@link
+   * #isUncacheableReceiver}).
+   *
+   * @param types type utilities
+   * @param atypeFactory the type factory
+   * @param receiverType the type of the class that contains a member (or a subtype of it)
+   * @param enclosingClassOfMember the class that declares the member
+   * @return a map from the type variables of {@code enclosingClassOfMember} and its enclosing
+   *     classes to their values in {@code receiverType}; must not be modified
+   */
+  private static Map<TypeVariable, AnnotatedTypeMirror> getTypeVarMappings(
+      Types types,
+      AnnotatedTypeFactory atypeFactory,
+      AnnotatedTypeMirror receiverType,
+      TypeElement enclosingClassOfMember) {
+    Map<IPair<AnnotatedTypeMirror, TypeElement>, Map<TypeVariable, AnnotatedTypeMirror>> cache =
+        atypeFactory.getTypeVarMappingsCache();
+    if (cache == null
+        || receiverType.getKind() != TypeKind.DECLARED
+        || isUncacheableReceiver((DeclaredType) receiverType.getUnderlyingType())) {
+      return computeTypeVarMappings(types, atypeFactory, receiverType, enclosingClassOfMember);
+    }
+
+    Map<TypeVariable, AnnotatedTypeMirror> mappings =
+        cache.get(IPair.of(receiverType, enclosingClassOfMember));
+    if (mappings == null) {
+      mappings = computeTypeVarMappings(types, atypeFactory, receiverType, enclosingClassOfMember);
+      cache.put(IPair.of(receiverType.deepCopy(), enclosingClassOfMember), mappings);
+    }
+    return mappings;
+  }
+
+  /**
+   * Returns true if the type variable substitution for a receiver of type {@code type} must not be
+   * cached. That is the case if {@code type} has a wildcard type argument, because capture
+   * conversion creates fresh type variables. It is also the case if a type that encloses {@code
+   * type} has type arguments: {@link AnnotatedTypeMirror#equals} does not compare enclosing types,
+   * so, for example, {@code Outer<@A T>.Inner} and {@code Outer<@B T>.Inner} would share a cache
+   * entry even though they substitute different types for the type variable of {@code Outer}.
+   *
+   * @param type a declared type
+   * @return true if the type variable substitution for {@code type} must not be cached
+   */
+  private static boolean isUncacheableReceiver(DeclaredType type) {
+    for (TypeMirror typeArg : type.getTypeArguments()) {
+      if (typeArg.getKind() == TypeKind.WILDCARD) {
+        return true;
+      }
+    }
+    TypeMirror enclosing = type.getEnclosingType();
+    while (enclosing.getKind() == TypeKind.DECLARED) {
+      if (!((DeclaredType) enclosing).getTypeArguments().isEmpty()) {
+        return true;
+      }
+      enclosing = ((DeclaredType) enclosing).getEnclosingType();
+    }
+    return false;
+  }
+
+  /**
+   * Computes the result of {@link #getTypeVarMappings}.
+   *
+   * @param types type utilities
+   * @param atypeFactory the type factory
+   * @param receiverType the type of the class that contains a member (or a subtype of it)
+   * @param enclosingClassOfMember the class that declares the member
+   * @return a map from the type variables of {@code enclosingClassOfMember} and its enclosing
+   *     classes to their values in {@code receiverType}
+   */
+  private static Map<TypeVariable, AnnotatedTypeMirror> computeTypeVarMappings(
+      Types types,
+      AnnotatedTypeFactory atypeFactory,
+      AnnotatedTypeMirror receiverType,
+      TypeElement enclosingClassOfMember) {
     DeclaredType enclosingType = (DeclaredType) enclosingClassOfMember.asType();
     Map<TypeVariable, AnnotatedTypeMirror> mappings = new HashMap<>();
 
@@ -518,12 +606,7 @@ public final class AnnotatedTypes {
         enclosingType = null;
       }
     }
-
-    if (!mappings.isEmpty()) {
-      memberType = atypeFactory.getTypeVarSubstitutor().substitute(mappings, memberType);
-    }
-
-    return memberType;
+    return mappings;
   }
 
   private static void addTypeVarMappings(
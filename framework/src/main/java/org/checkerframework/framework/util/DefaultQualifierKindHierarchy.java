@@ -3,6 +3,7 @@ package org.checkerframework.framework.util;
 import java.lang.annotation.Annotation;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -82,6 +83,18 @@ public class DefaultQualifierKindHierarchy implements QualifierKindHierarchy {
    */
   private final Map<QualifierKind, Map<QualifierKind, QualifierKind>> glbs;
 
+  /**
+   * The contents of {@link #lubs}, indexed by the positions of the qualifier kinds in {@link
+   * #qualifierKinds}. An entry is null if the two qualifier kinds are in different hierarchies.
+   */
+  private final @Nullable QualifierKind[][] lubTable;
+
+  /**
+   * The contents of {@link #glbs}, indexed by the positions of the qualifier kinds in {@link
+   * #qualifierKinds}. An entry is null if the two qualifier kinds are in different hierarchies.
+   */
+  private final @Nullable QualifierKind[][] glbTable;
+
   @Override
   public Set<? extends QualifierKind> getTops() {
     return tops;
@@ -94,6 +107,11 @@ public class DefaultQualifierKindHierarchy implements QualifierKindHierarchy {
 
   @Override
   public @Nullable QualifierKind leastUpperBound(QualifierKind q1, QualifierKind q2) {
+    int i1 = indexOf(q1);
+    int i2 = indexOf(q2);
+    if (i1 != -1 && i2 != -1) {
+      return lubTable[i1][i2];
+    }
     @SuppressWarnings("nullness:dereference.of.nullable") // All QualifierKinds are keys in lubs.
     QualifierKind result = lubs.get(q1).get(q2);
     return result;
@@ -101,11 +119,33 @@ public class DefaultQualifierKindHierarchy implements QualifierKindHierarchy {
 
   @Override
   public @Nullable QualifierKind greatestLowerBound(QualifierKind q1, QualifierKind q2) {
+    int i1 = indexOf(q1);
+    int i2 = indexOf(q2);
+    if (i1 != -1 && i2 != -1) {
+      return glbTable[i1][i2];
+    }
     @SuppressWarnings("nullness:dereference.of.nullable") // All QualifierKinds are keys in glbs.
     QualifierKind result = glbs.get(q1).get(q2);
     return result;
   }
 
+  /**
+   * Returns the position of {@code qualifierKind} in {@link #qualifierKinds}, or -1 if it is not a
+   * qualifier kind of this hierarchy.
+   *
+   * @param qualifierKind a qualifier kind
+   * @return the position of {@code qualifierKind} in {@link #qualifierKinds}, or -1
+   */
+  private int indexOf(QualifierKind qualifierKind) {
+    if (qualifierKind instanceof DefaultQualifierKind dqk) {
+      int index = dqk.index;
+      if (index != -1 && index < qualifierKinds.size() && qualifierKinds.get(index) == dqk) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
   @Override
   public List<? extends QualifierKind> allQualifierKinds() {
     return qualifierKinds;
@@ -169,6 +209,9 @@ public class DefaultQualifierKindHierarchy implements QualifierKindHierarchy {
     this.nameToQualifierKind = createQualifierKinds(qualifierClasses);
     this.qualifierKinds = new ArrayList<>(nameToQualifierKind.values());
     Collections.sort(qualifierKinds);
+    for (int i = 0; i < qualifierKinds.size(); i++) {
+      qualifierKinds.get(i).index = i;
+    }
 
     Map<DefaultQualifierKind, Set<DefaultQualifierKind>> directSuperMap = createDirectSuperMap();
     if (bottom != null) {
@@ -180,10 +223,40 @@ public class DefaultQualifierKindHierarchy implements QualifierKindHierarchy {
     initializeQualifierKindFields(directSuperMap);
     this.lubs = createLubsMap();
     this.glbs = createGlbsMap();
+    this.lubTable = createTable(lubs);
+    this.glbTable = createTable(glbs);
+    for (DefaultQualifierKind qualifierKind : qualifierKinds) {
+      qualifierKind.initializeSuperTypeBits();
+    }
 
     verifyHierarchy(directSuperMap);
   }
 
+  /**
+   * Returns the contents of {@code map}, indexed by the positions of the qualifier kinds in {@link
+   * #qualifierKinds}.
+   *
+   * @param map the lubs or the glbs of the qualifier kinds
+   * @return a table with the contents of {@code map}
+   */
+  @RequiresNonNull("this.qualifierKinds")
+  private @Nullable QualifierKind[][] createTable(
+      @UnderInitialization DefaultQualifierKindHierarchy this,
+      Map<QualifierKind, Map<QualifierKind, QualifierKind>> map) {
+    int size = qualifierKinds.size();
+    @Nullable QualifierKind[][] table = new QualifierKind[size][size];
+    for (int i = 0; i < size; i++) {
+      Map<QualifierKind, QualifierKind> row = map.get(qualifierKinds.get(i));
+      if (row == null) {
+        continue;
+      }
+      for (int j = 0; j < size; j++) {
+        table[i][j] = row.get(qualifierKinds.get(j));
+      }
+    }
+    return table;
+  }
+
   /**
    * Verifies that the {@link DefaultQualifierKindHierarchy} is a valid hierarchy.
    *
@@ -732,6 +805,18 @@ public class DefaultQualifierKindHierarchy implements QualifierKindHierarchy {
     // Set while creating the QualifierKindHierarchy.
     protected @MonotonicNonNull Set<QualifierKind> strictSuperTypes;
 
+    /**
+     * The position of this in {@link DefaultQualifierKindHierarchy#qualifierKinds}, or -1 if this
+     * does not belong to a hierarchy.
+     */
+    private int index = -1;
+
+    /**
+     * The positions in {@link DefaultQualifierKindHierarchy#qualifierKinds} of {@link
+     * #strictSuperTypes}, or null during initialization of the hierarchy.
+     */
+    private @Nullable BitSet superTypeBits = null;
+
     /**
      * Creates a {@link DefaultQualifierKind} for the given annotation class.
      *
@@ -824,7 +909,35 @@ public class DefaultQualifierKindHierarchy implements QualifierKindHierarchy {
             "DefaultQualifierKind#isSubtypeOf: strictSuperTypes was null. Don't call this method"
                 + " during initialization of DefaultQualifierKindHierarchy.");
       }
-      return this == superQualKind || strictSuperTypes.contains(superQualKind);
+      if (this == superQualKind) {
+        return true;
+      }
+      if (superTypeBits != null
+          && superQualKind instanceof DefaultQualifierKind dqk
+          && dqk.top == this.top) {
+        // The two qualifier kinds belong to the same hierarchy, so their indexes are comparable.
+        return superTypeBits.get(dqk.index);
+      }
+      return strictSuperTypes.contains(superQualKind);
+    }
+
+    /**
+     * Sets {@link #superTypeBits} from {@link #strictSuperTypes}. Called once the hierarchy has
+     * set the fields of all of its qualifier kinds.
+     */
+    private void initializeSuperTypeBits() {
+      if (strictSuperTypes == null) {
+        return;
+      }
+      BitSet bits = new BitSet();
+      for (QualifierKind superType : strictSuperTypes) {
+        if (!(superType instanceof DefaultQualifierKind dqk) || dqk.index == -1) {
+          // Fall back to searching strictSuperTypes.
+          return;
+        }
+        bits.set(dqk.index);
+      }
+      superTypeBits = bits;
     }
 
     @Override
@@ -0,0 +1,161 @@
+package org.checkerframework.framework.util;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A least-recently-used cache that counts its hits, misses, and evictions. The counts are printed
+ * by {@code -AresourceStats}; they are not reset by {@link #clear}.
+ *
+ * <p>Lookups through {@link #get}, {@link #getOrDefault}, and {@link #computeIfAbsent} are counted.
+ * A lookup is a hit if the key is present, even if it maps to null; {@code computeIfAbsent} follows
+ * {@link java.util.HashMap#computeIfAbsent} in treating a null value as absent.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+  /** The serial version UID. */
+  private static final long serialVersionUID = 20260901L;
+
+  /** The name of this cache, used when printing statistics. */
+  private final String name;
+
+  /** The maximum number of entries in this cache. */
+  private final int maxSize;
+
+  /** The number of lookups that found their key. */
+  private long hits = 0;
+
+  /** The number of lookups that did not find their key. */
+  private long misses = 0;
+
+  /** The number of entries that were removed to make room for another. */
+  private long evictions = 0;
+
+  /**
+   * Creates a new, empty cache.
+   *
+   * @param name the name of the cache, used when printing statistics
+   * @param maxSize the maximum number of entries in the cache
+   */
+  public LruCache(String name, int maxSize) {
+    super(16, 0.75f, true);
+    this.name = name;
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  public @Nullable V get(@Nullable Object key) {
+    V result = super.get(key);
+    // Only a null result needs a second lookup, to tell a null value from an absent key.
+    if (result != null || super.containsKey(key)) {
+      hits++;
+    } else {
+      misses++;
+    }
+    return result;
+  }
+
+  @Override
+  public V getOrDefault(@Nullable Object key, V defaultValue) {
+    V result = super.get(key);
+    if (result != null || super.containsKey(key)) {
+      hits++;
+      return result;
+    }
+    misses++;
+    return defaultValue;
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    // HashMap.computeIfAbsent does not call get, so count the lookup here: it is a miss if and only
+    // if the mapping function is called.
+    long oldMisses = misses;
+    V result =
+        super.computeIfAbsent(
+            key,
+            k -> {
+              misses++;
+              return mappingFunction.apply(k);
+            });
+    if (misses == oldMisses) {
+      hits++;
+    }
+    return result;
+  }
+
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+    if (size() > maxSize) {
+      evictions++;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the number of lookups that found their key.
+   *
+   * @return the number of hits
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of lookups that did not find their key.
+   *
+   * @return the number of misses
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Returns the number of entries that were removed to make room for another.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Adds to {@code result} a one-line summary of the use of each of the given maps that is an {@code
+   * LruCache}. The other maps, which may be null, are ignored.
+   *
+   * @param result where to add the summaries
+   * @param maps the caches to summarize
+   */
+  public static void addStatistics(Collection<String> result, @Nullable Map<?, ?>... maps) {
+    for (Map<?, ?> map : maps) {
+      if (map instanceof LruCache<?, ?> cache) {
+        result.add(cache.statistics());
+      }
+    }
+  }
+
+  /**
+   * Returns a one-line summary of the use of this cache.
+   *
+   * @return a one-line summary of the use of this cache
+   */
+  public String statistics() {
+    long lookups = hits + misses;
+    return String.format(
+        "%s: %d hits, %d misses (%.1f%% hit rate), %d evictions, %d/%d entries",
+        name,
+        hits,
+        misses,
+        lookups == 0 ? 0.0 : 100.0 * hits / lookups,
+        evictions,
+        size(),
+        maxSize);
+  }
+}
@@ -2,6 +2,7 @@ package org.checkerframework.framework.util;
 
 // This class uses SourceChecker, so it must be in the framework project.
 
+import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.LambdaExpressionTree;
 import com.sun.source.tree.MemberSelectTree;
 import com.sun.source.tree.MethodInvocationTree;
@@ -11,11 +12,13 @@ import com.sun.source.tree.VariableTree;
 import com.sun.source.util.TreePath;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.common.basetype.BaseTypeChecker;
 import org.checkerframework.dataflow.cfg.node.MethodInvocationNode;
 import org.checkerframework.dataflow.expression.FormalParameter;
 import org.checkerframework.dataflow.expression.JavaExpression;
@@ -25,9 +28,11 @@ import org.checkerframework.dataflow.expression.LocalVariable;
 import org.checkerframework.dataflow.expression.ThisReference;
 import org.checkerframework.dataflow.expression.ViewpointAdaptJavaExpression;
 import org.checkerframework.framework.source.SourceChecker;
+import org.checkerframework.framework.type.AnnotatedTypeFactory;
 import org.checkerframework.javacutil.ElementUtils;
 import org.checkerframework.javacutil.TreePathUtil;
 import org.checkerframework.javacutil.TreeUtils;
+import org.plumelib.util.IPair;
 
 /**
  * This interface is both a functional interface, see {@link #toJavaExpression(String)}, and also a
@@ -81,7 +86,8 @@ public interface StringToJavaExpression {
         parameters,
         null,
         checker.getPathToCompilationUnit(),
-        checker.getProcessingEnvironment());
+        checker.getProcessingEnvironment(),
+        getParseTreeCache(checker));
   }
 
   /**
@@ -114,7 +120,8 @@ public interface StringToJavaExpression {
         parameters,
         null,
         checker.getPathToCompilationUnit(),
-        checker.getProcessingEnvironment());
+        checker.getProcessingEnvironment(),
+        getParseTreeCache(checker));
   }
 
   /**
@@ -134,6 +141,17 @@ public interface StringToJavaExpression {
   static JavaExpression atMethodDecl(
       String expression, ExecutableElement method, SourceChecker checker)
       throws JavaExpressionParseException {
+    AnnotatedTypeFactory factory = getTypeFactory(checker);
+    Map<IPair<String, ExecutableElement>, JavaExpression> cache =
+        factory == null ? null : factory.getMethodDeclExpressionCache();
+    IPair<String, ExecutableElement> key = IPair.of(expression, method);
+    if (cache != null) {
+      JavaExpression cached = cache.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
     TypeMirror enclosingType = ElementUtils.enclosingTypeElement(method).asType();
     ThisReference thisReference;
     if (ElementUtils.isStatic(method)) {
@@ -143,14 +161,20 @@ public interface StringToJavaExpression {
       thisReference = new ThisReference(enclosingType);
     }
     List<FormalParameter> parameters = JavaExpression.getFormalParameters(method);
-    return JavaExpressionParseUtil.parse(
-        expression,
-        enclosingType,
-        thisReference,
-        parameters,
-        null,
-        checker.getPathToCompilationUnit(),
-        checker.getProcessingEnvironment());
+    JavaExpression result =
+        JavaExpressionParseUtil.parse(
+            expression,
+            enclosingType,
+            thisReference,
+            parameters,
+            null,
+            checker.getPathToCompilationUnit(),
+            checker.getProcessingEnvironment(),
+            getParseTreeCache(checker));
+    if (cache != null) {
+      cache.put(key, result);
+    }
+    return result;
   }
 
   /**
@@ -301,7 +325,8 @@ public interface StringToJavaExpression {
             parameters,
             parentPath,
             checker.getPathToCompilationUnit(),
-            checker.getProcessingEnvironment());
+            checker.getProcessingEnvironment(),
+            getParseTreeCache(checker));
     return ViewpointAdaptJavaExpression.viewpointAdapt(javaExpr, paramsAsLocals);
   }
 
@@ -332,7 +357,8 @@ public interface StringToJavaExpression {
           null,
           localVarPath,
           checker.getPathToCompilationUnit(),
-          checker.getProcessingEnvironment());
+          checker.getProcessingEnvironment(),
+          getParseTreeCache(checker));
     }
 
     ExecutableElement methodEle = TreeUtils.elementFromDeclaration(methodTree);
@@ -345,8 +371,32 @@ public interface StringToJavaExpression {
             parameters,
             localVarPath,
             checker.getPathToCompilationUnit(),
-            checker.getProcessingEnvironment());
+            checker.getProcessingEnvironment(),
+            getParseTreeCache(checker));
     List<JavaExpression> paramsAsLocals = JavaExpression.getParametersAsLocalVariables(methodEle);
     return ViewpointAdaptJavaExpression.viewpointAdapt(javaExpr, paramsAsLocals);
   }
+
+  /**
+   * Returns the type factory whose caches the methods of this interface use.
+   *
+   * @param checker a checker
+   * @return the type factory of {@code checker}, or null if it has none or it is being created
+   */
+  private static @Nullable AnnotatedTypeFactory getTypeFactory(SourceChecker checker) {
+    return checker instanceof BaseTypeChecker btc && btc.getVisitor() != null
+        ? btc.getTypeFactory()
+        : null;
+  }
+
+  /**
+   * Returns the cache of parse trees of expression strings to use when parsing for {@code checker}.
+   *
+   * @param checker a checker
+   * @return the cache of parse trees, or null if parse trees should not be cached
+   */
+  private static @Nullable Map<String, ExpressionTree> getParseTreeCache(SourceChecker checker) {
+    AnnotatedTypeFactory factory = getTypeFactory(checker);
+    return factory == null ? null : factory.getParseTreeCache();
+  }
 }
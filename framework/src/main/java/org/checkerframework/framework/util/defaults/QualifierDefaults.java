@@ -11,6 +11,7 @@ import com.sun.source.tree.Tree;
 import com.sun.source.tree.TypeParameterTree;
 import com.sun.source.tree.VariableTree;
 import com.sun.source.util.TreePath;
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,7 @@ import org.checkerframework.framework.type.GenericAnnotatedTypeFactory;
 import org.checkerframework.framework.type.QualifierHierarchy;
 import org.checkerframework.framework.type.visitor.AnnotatedTypeScanner;
 import org.checkerframework.framework.util.AnnotatedTypes;
+import org.checkerframework.framework.util.LruCache;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationMirrorSet;
 import org.checkerframework.javacutil.AnnotationUtils;
@@ -49,7 +51,6 @@ import org.checkerframework.javacutil.BugInCF;
 import org.checkerframework.javacutil.ElementUtils;
 import org.checkerframework.javacutil.TreeUtils;
 import org.checkerframework.javacutil.TypesUtils;
-import org.plumelib.util.MapsP;
 import org.plumelib.util.StringsP;
 
 /**
@@ -104,7 +105,8 @@ public class QualifierDefaults {
   private static final int CACHE_SIZE = 300;
 
   /** Mapping from an Element to the bound type. */
-  protected final Map<Element, BoundType> elementToBoundType = MapsP.createLruCache(CACHE_SIZE);
+  protected final Map<Element, BoundType> elementToBoundType =
+      new LruCache<>("elementToBoundType", CACHE_SIZE);
 
   /**
    * Defaults that apply for a certain Element. On the one hand this is used for caching (an earlier
@@ -197,6 +199,18 @@ public class QualifierDefaults {
         "useConservativeDefaultsBytecode: " + useConservativeDefaultsBytecode);
   }
 
+  /**
+   * Returns a one-line summary of the use of each of this object's caches. Used by {@code
+   * -AresourceStats}.
+   *
+   * @return a summary of the use of each of this object's caches
+   */
+  public List<String> getCacheStatistics() {
+    List<String> result = new ArrayList<>(1);
+    LruCache.addStatistics(result, elementToBoundType);
+    return result;
+  }
+
   /**
    * Check that a default with TypeUseLocation OTHERWISE or ALL is specified.
    *
@@ -54,6 +54,7 @@ import org.checkerframework.framework.type.treeannotator.TreeAnnotator;
 import org.checkerframework.framework.type.visitor.AnnotatedTypeScanner;
 import org.checkerframework.framework.type.visitor.DoubleAnnotatedTypeScanner;
 import org.checkerframework.framework.type.visitor.SimpleAnnotatedTypeScanner;
+import org.checkerframework.framework.util.LruCache;
 import org.checkerframework.framework.util.StringToJavaExpression;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationMirrorSet;
@@ -142,6 +143,13 @@ public class DependentTypesHelper {
   /** The type mirror for java.lang.Object. */
   protected final TypeMirror objectTM;
 
+  /**
+   * Maps a method or constructor to whether its declared type has a dependent type annotation. Most
+   * invoked methods have none, and this lets {@link #atInvocation} skip computing and scanning
+   * their declared types. Null if the factory does not cache.
+   */
+  private final @Nullable Map<Element, Boolean> hasDependentDeclaredTypeCache;
+
   /**
    * Creates a {@code DependentTypesHelper}.
    *
@@ -149,6 +157,10 @@ public class DependentTypesHelper {
    */
   public DependentTypesHelper(AnnotatedTypeFactory factory) {
     this.factory = factory;
+    this.hasDependentDeclaredTypeCache =
+        factory.shouldCache
+            ? new LruCache<>("hasDependentDeclaredTypeCache", factory.getCacheSize())
+            : null;
     this.errorAnnoReplacer = new ErrorAnnoReplacer(factory.getQualifierHierarchy());
     this.annoToElements = new HashMap<>();
     for (Class<? extends Annotation> expressionAnno : factory.getSupportedTypeQualifiers()) {
@@ -316,12 +328,12 @@ public class DependentTypesHelper {
     // are replaced by type variable substitution. (Those annotations are viewpoint-adapted
     // before type variable substitution.)
 
+    if (!hasDependentDeclaredType(methodElt)) {
+      return;
+    }
     // The annotations on `declaredMethodType` will be copied to `methodType`.
     AnnotatedExecutableType declaredMethodType =
         (AnnotatedExecutableType) factory.getAnnotatedType(methodElt);
-    if (!hasDependentType(declaredMethodType)) {
-      return;
-    }
 
     StringToJavaExpression stringToJavaExpr;
     if (tree instanceof MethodInvocationTree mit) {
@@ -349,6 +361,44 @@ public class DependentTypesHelper {
     this.viewpointAdaptedCopier.visit(declaredMethodType, methodType);
   }
 
+  /**
+   * Returns true if the declared type of {@code methodElt} has any dependent type annotations. The
+   * result is cached.
+   *
+   * @param methodElt a method or constructor
+   * @return true if the declared type of {@code methodElt} has any dependent type annotations
+   */
+  private boolean hasDependentDeclaredType(Element methodElt) {
+    if (hasDependentDeclaredTypeCache == null) {
+      return hasDependentType(factory.getAnnotatedType(methodElt));
+    }
+    Boolean result = hasDependentDeclaredTypeCache.get(methodElt);
+    if (result == null) {
+      result = hasDependentType(factory.getAnnotatedType(methodElt));
+      hasDependentDeclaredTypeCache.put(methodElt, result);
+    }
+    return result;
+  }
+
+  /** Clears all caches. Called when the factory starts a new compilation unit. */
+  public void clearCache() {
+    if (hasDependentDeclaredTypeCache != null) {
+      hasDependentDeclaredTypeCache.clear();
+    }
+  }
+
+  /**
+   * Returns a one-line summary of the use of each of this object's caches. Used by {@code
+   * -AresourceStats}.
+   *
+   * @return a summary of the use of each of this object's caches
+   */
+  public List<String> getCacheStatistics() {
+    List<String> result = new ArrayList<>(1);
+    LruCache.addStatistics(result, hasDependentDeclaredTypeCache);
+    return result;
+  }
+
   /**
    * Viewpoint-adapts the Java expressions in annotations written on a field declaration to the use
    * at {@code fieldAccess}.
@@ -0,0 +1,185 @@
+package org.checkerframework.framework.flow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CopyOnWriteHashMap}. This test is in the same package as the class because the
+ * class is package-private.
+ */
+public class CopyOnWriteHashMapTest {
+
+  /**
+   * Returns a map with entries "a"=1 and "b"=2.
+   *
+   * @return a map with entries "a"=1 and "b"=2
+   */
+  private static CopyOnWriteHashMap<String, Integer> newMap() {
+    CopyOnWriteHashMap<String, Integer> result = new CopyOnWriteHashMap<>();
+    result.put("a", 1);
+    result.put("b", 2);
+    return result;
+  }
+
+  @Test
+  public void copySharesStorageUntilCopyIsWritten() {
+    CopyOnWriteHashMap<String, Integer> original = newMap();
+    CopyOnWriteHashMap<String, Integer> copy = CopyOnWriteHashMap.copyOf(original);
+    Assert.assertTrue(CopyOnWriteHashMap.sharesStorage(original, copy));
+    Assert.assertEquals(original, copy);
+
+    copy.put("c", 3);
+    Assert.assertFalse(CopyOnWriteHashMap.sharesStorage(original, copy));
+    Assert.assertEquals(3, copy.size());
+    Assert.assertEquals(2, original.size());
+    Assert.assertFalse(original.containsKey("c"));
+  }
+
+  @Test
+  public void copySharesStorageUntilOriginalIsWritten() {
+    CopyOnWriteHashMap<String, Integer> original = newMap();
+    CopyOnWriteHashMap<String, Integer> copy = CopyOnWriteHashMap.copyOf(original);
+
+    original.put("a", 10);
+    Assert.assertFalse(CopyOnWriteHashMap.sharesStorage(original, copy));
+    Assert.assertEquals(Integer.valueOf(10), original.get("a"));
+    Assert.assertEquals(Integer.valueOf(1), copy.get("a"));
+
+    // The copy's storage is no longer shared in fact, but the shared flag is conservative; a write
+    // to the copy still must not affect the original.
+    copy.put("b", 20);
+    Assert.assertEquals(Integer.valueOf(2), original.get("b"));
+    Assert.assertEquals(Integer.valueOf(20), copy.get("b"));
+  }
+
+  @Test
+  public void removeAfterCopyOf() {
+    CopyOnWriteHashMap<String, Integer> original = newMap();
+    CopyOnWriteHashMap<String, Integer> copy = CopyOnWriteHashMap.copyOf(original);
+
+    // Removing an absent key does not modify the map, so the storage stays shared.
+    Assert.assertNull(copy.remove("z"));
+    Assert.assertTrue(CopyOnWriteHashMap.sharesStorage(original, copy));
+
+    Assert.assertEquals(Integer.valueOf(1), copy.remove("a"));
+    Assert.assertFalse(CopyOnWriteHashMap.sharesStorage(original, copy));
+    Assert.assertFalse(copy.containsKey("a"));
+    Assert.assertEquals(Integer.valueOf(1), original.get("a"));
+  }
+
+  @Test
+  public void clearAfterCopyOf() {
+    CopyOnWriteHashMap<String, Integer> original = newMap();
+    CopyOnWriteHashMap<String, Integer> copy = CopyOnWriteHashMap.copyOf(original);
+
+    copy.clear();
+    Assert.assertTrue(copy.isEmpty());
+    Assert.assertEquals(2, original.size());
+
+    original.entrySet().clear();
+    Assert.assertTrue(original.isEmpty());
+  }
+
+  @Test
+  public void entrySetValueWritesThrough() {
+    CopyOnWriteHashMap<String, Integer> original = newMap();
+    CopyOnWriteHashMap<String, Integer> copy = CopyOnWriteHashMap.copyOf(original);
+
+    for (Map.Entry<String, Integer> entry : copy.entrySet()) {
+      Assert.assertEquals(entry.getValue(), entry.setValue(entry.getValue() * 100));
+    }
+    Assert.assertEquals(Integer.valueOf(100), copy.get("a"));
+    Assert.assertEquals(Integer.valueOf(200), copy.get("b"));
+    Assert.assertEquals(Integer.valueOf(1), original.get("a"));
+    Assert.assertEquals(Integer.valueOf(2), original.get("b"));
+  }
+
+  @Test
+  public void entrySetValueWithoutCopy() {
+    CopyOnWriteHashMap<String, Integer> map = newMap();
+    for (Map.Entry<String, Integer> entry : map.entrySet()) {
+      entry.setValue(entry.getValue() * 100);
+    }
+    Assert.assertEquals(Integer.valueOf(100), map.get("a"));
+    Assert.assertEquals(Integer.valueOf(200), map.get("b"));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void entrySetValueAfterRemoval() {
+    CopyOnWriteHashMap<String, Integer> original = newMap();
+    CopyOnWriteHashMap<String, Integer> copy = CopyOnWriteHashMap.copyOf(original);
+    Map.Entry<String, Integer> entry = copy.entrySet().iterator().next();
+    copy.remove(entry.getKey());
+    entry.setValue(0);
+  }
+
+  @Test
+  public void iteratorTraversesSnapshot() {
+    CopyOnWriteHashMap<String, Integer> original = newMap();
+    CopyOnWriteHashMap<String, Integer> copy = CopyOnWriteHashMap.copyOf(original);
+
+    List<String> keys = new ArrayList<>();
+    Iterator<Map.Entry<String, Integer>> iterator = original.entrySet().iterator();
+    while (iterator.hasNext()) {
+      String key = iterator.next().getKey();
+      keys.add(key);
+      // The storage is shared, so this clones it; the iterator continues over the old storage
+      // without a ConcurrentModificationException.
+      original.put(key + key, 0);
+    }
+    keys.sort(null);
+    Assert.assertEquals(List.of("a", "b"), keys);
+    Assert.assertEquals(4, original.size());
+    Assert.assertEquals(2, copy.size());
+  }
+
+  @Test
+  public void iteratorRemove() {
+    // Unshared storage: the removal goes to the underlying iterator.
+    CopyOnWriteHashMap<String, Integer> unshared = newMap();
+    Iterator<Map.Entry<String, Integer>> iterator = unshared.entrySet().iterator();
+    String removed = iterator.next().getKey();
+    iterator.remove();
+    Assert.assertFalse(unshared.containsKey(removed));
+    Assert.assertEquals(1, unshared.size());
+
+    // Shared storage: the removal clones the storage first.
+    CopyOnWriteHashMap<String, Integer> original = newMap();
+    CopyOnWriteHashMap<String, Integer> copy = CopyOnWriteHashMap.copyOf(original);
+    iterator = copy.entrySet().iterator();
+    while (iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+    Assert.assertTrue(copy.isEmpty());
+    Assert.assertEquals(2, original.size());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void iteratorRemoveBeforeNext() {
+    newMap().entrySet().iterator().remove();
+  }
+
+  @Test
+  public void sharesStorage() {
+    CopyOnWriteHashMap<String, Integer> map = newMap();
+    Assert.assertTrue(CopyOnWriteHashMap.sharesStorage(map, map));
+    Assert.assertFalse(CopyOnWriteHashMap.sharesStorage(map, newMap()));
+
+    Map<String, Integer> hashMap = new HashMap<>(map);
+    Assert.assertTrue(CopyOnWriteHashMap.sharesStorage(hashMap, hashMap));
+    Assert.assertFalse(CopyOnWriteHashMap.sharesStorage(hashMap, new HashMap<>(map)));
+
+    // Copying a map that is not a CopyOnWriteHashMap copies its entries.
+    CopyOnWriteHashMap<String, Integer> copy = CopyOnWriteHashMap.copyOf(hashMap);
+    Assert.assertFalse(CopyOnWriteHashMap.sharesStorage(hashMap, copy));
+    copy.put("a", 10);
+    Assert.assertEquals(Integer.valueOf(1), hashMap.get("a"));
+  }
+}
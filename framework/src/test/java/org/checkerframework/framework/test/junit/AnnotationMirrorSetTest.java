@@ -0,0 +1,196 @@
+package org.checkerframework.framework.test.junit;
+
+import com.sun.tools.javac.main.JavaCompiler;
+import com.sun.tools.javac.main.Option;
+import com.sun.tools.javac.processing.JavacProcessingEnvironment;
+import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.Options;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import org.checkerframework.framework.testchecker.util.AnnoWithStringArg;
+import org.checkerframework.framework.testchecker.util.Encrypted;
+import org.checkerframework.framework.testchecker.util.Even;
+import org.checkerframework.framework.testchecker.util.Odd;
+import org.checkerframework.javacutil.AnnotationBuilder;
+import org.checkerframework.javacutil.AnnotationMirrorSet;
+import org.checkerframework.javacutil.AnnotationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Tests for {@link AnnotationMirrorSet}. */
+public class AnnotationMirrorSetTest {
+
+  /** The processing environment, used to build annotations. */
+  private final ProcessingEnvironment env;
+
+  /** Creates a new AnnotationMirrorSetTest. */
+  public AnnotationMirrorSetTest() {
+    Context context = new Context();
+    // As in AnnotationBuilderTest, set source and target to 8 so that modules need not be set up.
+    Options options = Options.instance(context);
+    options.put(Option.SOURCE, "8");
+    options.put(Option.TARGET, "8");
+    env = JavacProcessingEnvironment.instance(context);
+    JavaCompiler javac = JavaCompiler.instance(context);
+    javac.initModules(com.sun.tools.javac.util.List.nil());
+    javac.enterDone();
+  }
+
+  /**
+   * Returns a new annotation of the given class, with no elements.
+   *
+   * @param annoClass an annotation class
+   * @return a new annotation of the given class
+   */
+  private AnnotationMirror anno(Class<? extends java.lang.annotation.Annotation> annoClass) {
+    return new AnnotationBuilder(env, annoClass).build();
+  }
+
+  /**
+   * Returns a new {@code @AnnoWithStringArg} annotation with the given value.
+   *
+   * @param value the value of the annotation
+   * @return a new {@code @AnnoWithStringArg(value)} annotation
+   */
+  private AnnotationMirror annoWithStringArg(String value) {
+    AnnotationBuilder builder = new AnnotationBuilder(env, AnnoWithStringArg.class);
+    builder.setValue("value", value);
+    return builder.build();
+  }
+
+  /**
+   * Asserts that {@code set} contains exactly the expected annotations, in the given order.
+   *
+   * @param set a set
+   * @param expected the expected elements of {@code set}, in iteration order
+   */
+  private static void assertElements(AnnotationMirrorSet set, AnnotationMirror... expected) {
+    Assert.assertEquals(expected.length, set.size());
+    Iterator<AnnotationMirror> iterator = set.iterator();
+    for (AnnotationMirror anno : expected) {
+      Assert.assertTrue(iterator.hasNext());
+      AnnotationMirror actual = iterator.next();
+      Assert.assertTrue(actual + " is not " + anno, AnnotationUtils.areSame(anno, actual));
+    }
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void iteratesInOrder() {
+    AnnotationMirrorSet set = new AnnotationMirrorSet();
+    set.add(anno(Odd.class));
+    set.add(annoWithStringArg("b"));
+    set.add(anno(Encrypted.class));
+    set.add(anno(Even.class));
+    set.add(annoWithStringArg("a"));
+    // Sorted by name, and then by element values.
+    assertElements(
+        set,
+        annoWithStringArg("a"),
+        annoWithStringArg("b"),
+        anno(Encrypted.class),
+        anno(Even.class),
+        anno(Odd.class));
+    Assert.assertTrue(AnnotationUtils.areSame(annoWithStringArg("a"), set.first()));
+    Assert.assertTrue(AnnotationUtils.areSame(anno(Odd.class), set.last()));
+    Assert.assertTrue(AnnotationUtils.areSame(anno(Odd.class), set.pollLast()));
+    Assert.assertEquals(4, set.size());
+  }
+
+  @Test
+  public void duplicatesAccordingToAreSame() {
+    AnnotationMirrorSet set = new AnnotationMirrorSet();
+    Assert.assertTrue(set.add(anno(Even.class)));
+    // A different AnnotationMirror object for the same annotation.
+    Assert.assertFalse(set.add(anno(Even.class)));
+    Assert.assertTrue(set.add(annoWithStringArg("a")));
+    Assert.assertFalse(set.add(annoWithStringArg("a")));
+    Assert.assertTrue(set.add(annoWithStringArg("b")));
+    Assert.assertEquals(3, set.size());
+
+    Assert.assertTrue(set.contains(anno(Even.class)));
+    Assert.assertFalse(set.contains(anno(Odd.class)));
+    Assert.assertFalse(set.contains("not an annotation"));
+    Assert.assertTrue(set.remove(anno(Even.class)));
+    Assert.assertFalse(set.contains(anno(Even.class)));
+    Assert.assertEquals(2, set.size());
+
+    Assert.assertEquals(
+        new AnnotationMirrorSet(List.of(annoWithStringArg("b"), annoWithStringArg("a"))), set);
+  }
+
+  @Test
+  public void retainAllAndRemoveAll() {
+    AnnotationMirrorSet set =
+        new AnnotationMirrorSet(List.of(anno(Encrypted.class), anno(Even.class), anno(Odd.class)));
+    Assert.assertFalse(
+        set.retainAll(List.of(anno(Encrypted.class), anno(Even.class), anno(Odd.class))));
+    Assert.assertTrue(set.retainAll(List.of(anno(Odd.class), anno(Encrypted.class))));
+    assertElements(set, anno(Encrypted.class), anno(Odd.class));
+
+    set.add(anno(Even.class));
+    set.removeAll(List.of(anno(Even.class), anno(Encrypted.class)));
+    assertElements(set, anno(Odd.class));
+  }
+
+  @Test
+  public void unmodifiableSet() {
+    AnnotationMirrorSet set =
+        AnnotationMirrorSet.unmodifiableSet(List.of(anno(Odd.class), anno(Even.class)));
+    assertElements(set, anno(Even.class), anno(Odd.class));
+    Assert.assertThrows(UnsupportedOperationException.class, () -> set.add(anno(Encrypted.class)));
+    Assert.assertThrows(UnsupportedOperationException.class, () -> set.remove(anno(Odd.class)));
+    Assert.assertThrows(
+        UnsupportedOperationException.class, () -> set.retainAll(List.of(anno(Odd.class))));
+    Assert.assertThrows(UnsupportedOperationException.class, set::clear);
+    Iterator<AnnotationMirror> iterator = set.iterator();
+    iterator.next();
+    Assert.assertThrows(UnsupportedOperationException.class, iterator::remove);
+    Assert.assertEquals(2, set.size());
+
+    // Operations that would not change the set are permitted.
+    Assert.assertFalse(set.add(anno(Odd.class)));
+    Assert.assertFalse(set.remove(anno(Encrypted.class)));
+
+    // A copy is modifiable.
+    AnnotationMirrorSet copy = set.deepCopy();
+    Assert.assertTrue(copy.add(anno(Encrypted.class)));
+    Assert.assertEquals(2, set.size());
+
+    Assert.assertThrows(
+        UnsupportedOperationException.class,
+        () -> AnnotationMirrorSet.singleton(anno(Odd.class)).add(anno(Even.class)));
+    Assert.assertThrows(
+        UnsupportedOperationException.class,
+        () -> AnnotationMirrorSet.emptySet().add(anno(Even.class)));
+  }
+
+  @Test
+  public void mutationDuringIteration() {
+    AnnotationMirrorSet set =
+        new AnnotationMirrorSet(List.of(anno(Encrypted.class), anno(Even.class), anno(Odd.class)));
+
+    // Removing through the iterator is permitted.
+    Iterator<AnnotationMirror> iterator = set.iterator();
+    while (iterator.hasNext()) {
+      if (AnnotationUtils.areSame(anno(Even.class), iterator.next())) {
+        iterator.remove();
+      }
+    }
+    assertElements(set, anno(Encrypted.class), anno(Odd.class));
+
+    // Modifying the set directly makes the iterator fail.
+    Iterator<AnnotationMirror> failing = set.iterator();
+    failing.next();
+    set.add(anno(Even.class));
+    Assert.assertThrows(ConcurrentModificationException.class, failing::next);
+
+    Iterator<AnnotationMirror> failingRemove = set.iterator();
+    failingRemove.next();
+    set.remove(anno(Odd.class));
+    Assert.assertThrows(ConcurrentModificationException.class, failingRemove::remove);
+  }
+}
@@ -0,0 +1,28 @@
+package org.checkerframework.framework.test.junit;
+
+import java.io.File;
+import java.util.List;
+import org.checkerframework.framework.test.CheckerFrameworkPerDirectoryTest;
+import org.checkerframework.framework.testchecker.util.FlowTestChecker;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests that dataflow analysis skips the nested classes that the {@code -AskipDefs} command-line
+ * argument excludes from type-checking.
+ */
+public class FlowSkipDefsTest extends CheckerFrameworkPerDirectoryTest {
+
+  /**
+   * Create a FlowSkipDefsTest.
+   *
+   * @param testFiles the files containing test code, which will be type-checked
+   */
+  public FlowSkipDefsTest(List<File> testFiles) {
+    super(testFiles, FlowTestChecker.class, "flow", "-AskipDefs=SkipMe");
+  }
+
+  @Parameters
+  public static String[] getTestDirs() {
+    return new String[] {"flow-skipdefs"};
+  }
+}
@@ -0,0 +1,55 @@
+package org.checkerframework.framework.test.junit;
+
+import org.checkerframework.framework.util.LruCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Tests the statistics kept by {@link LruCache}. */
+public class LruCacheTest {
+
+  @Test
+  public void countsHitsMissesAndEvictions() {
+    LruCache<String, Integer> cache = new LruCache<>("test", 2);
+    cache.put("a", 1);
+    cache.put("b", 2);
+    Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+    // "b" is now the least recently used entry.
+    cache.put("c", 3);
+    Assert.assertNull(cache.get("b"));
+    Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+    Assert.assertEquals(Integer.valueOf(3), cache.get("c"));
+
+    Assert.assertEquals(3, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+    Assert.assertEquals(1, cache.getEvictions());
+    Assert.assertEquals(2, cache.size());
+
+    cache.clear();
+    Assert.assertEquals(3, cache.getHits());
+  }
+
+  @Test
+  public void countsComputeIfAbsentAndGetOrDefault() {
+    LruCache<String, Integer> cache = new LruCache<>("test", 2);
+    Assert.assertEquals(Integer.valueOf(1), cache.computeIfAbsent("a", k -> 1));
+    Assert.assertEquals(Integer.valueOf(1), cache.computeIfAbsent("a", k -> 2));
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+
+    Assert.assertEquals(Integer.valueOf(1), cache.getOrDefault("a", 0));
+    Assert.assertEquals(Integer.valueOf(0), cache.getOrDefault("b", 0));
+    Assert.assertEquals(2, cache.getHits());
+    Assert.assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void countsNullValueAsHit() {
+    LruCache<String, Integer> cache = new LruCache<>("test", 2);
+    cache.put("a", null);
+    Assert.assertNull(cache.get("a"));
+    Assert.assertNull(cache.getOrDefault("a", 0));
+    Assert.assertNull(cache.get("b"));
+    Assert.assertEquals(2, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+  }
+}
@@ -0,0 +1,29 @@
+import org.checkerframework.framework.qual.EnsuresQualifier;
+import org.checkerframework.framework.testchecker.util.*;
+
+// Dataflow reports an unparsable postcondition at each call of the method, so it would report one
+// in SkipMeInner if it analyzed that nested class, which -AskipDefs=SkipMe excludes.
+public class SkipNestedClass {
+
+  @EnsuresQualifier(expression = "---", qualifier = Odd.class)
+  // :: error: [flowexpr.parse.error.contract]
+  void error() {}
+
+  void checked() {
+    // :: error: [flowexpr.parse.error.postcondition]
+    error();
+  }
+
+  class SkipMeInner {
+    void skipped() {
+      error();
+    }
+  }
+
+  static class SkipMeNested {
+    void skipped(SkipNestedClass outer) {
+      outer.error();
+      Runnable r = () -> outer.error();
+    }
+  }
+}
@@ -0,0 +1,27 @@
+import org.checkerframework.framework.testchecker.util.*;
+
+// Accesses members of an inner class through receivers that differ only in the type arguments of
+// the enclosing class. The substitution for the outer class's type variable must not be shared
+// between the two receivers.
+public class InnerOfGenericOuter {
+
+  static class Outer<T> {
+    class Inner {
+      T get() {
+        throw new Error();
+      }
+    }
+  }
+
+  void encryptedFirst(Outer<@Encrypted String>.Inner enc, Outer<String>.Inner plain) {
+    @Encrypted String a = enc.get();
+    // :: error: [assignment]
+    @Encrypted String b = plain.get();
+  }
+
+  void plainFirst(Outer<String>.Inner plain, Outer<@Encrypted String>.Inner enc) {
+    // :: error: [assignment]
+    @Encrypted String b = plain.get();
+    @Encrypted String a = enc.get();
+  }
+}
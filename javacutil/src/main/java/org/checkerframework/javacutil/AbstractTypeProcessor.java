@@ -55,6 +55,12 @@ import org.checkerframework.dataflow.qual.SideEffectFree;
  * rest of classes are analyzed. The tool is also permitted to stop type processing immediately if
  * any errors are raised, without invoking {@link #typeProcessingOver}.
  *
+ * <p>{@link #typeProcess(TypeElement, TreePath)} is invoked synchronously, on the compiler's own
+ * thread, from a {@link TaskListener} that javac notifies after each class is analyzed. A subclass
+ * must not hand the tree or its elements to another thread: javac's symbol completion, {@code
+ * Types}, {@code Log}, and attribution caches are not thread-safe, and symbols may be completed
+ * lazily by any query on them.
+ *
  * <p>A subclass may override any of the methods in this class, as long as the general {@link
  * javax.annotation.processing.Processor Processor} contract is obeyed, with one notable exception.
  * {@link #process(Set, RoundEnvironment)} may not be overridden, as it is called during the
@@ -1,6 +1,7 @@
 package org.checkerframework.javacutil;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -9,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.WeakHashMap;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
@@ -73,6 +75,17 @@ public class AnnotationBuilder {
   /** A mapping from element to AnnotationValue. */
   private final Map<ExecutableElement, AnnotationValue> elementValues;
 
+  /**
+   * Canonical annotations whose elements all have their default values, as created by {@link
+   * #fromName(Elements, CharSequence, Map)} when no element values are given. Returning the same
+   * instance each time lets {@link AnnotationUtils#areSame} and {@link
+   * AnnotationUtils#compareAnnotationMirrors} succeed with a reference comparison. Both the keys and
+   * the values are weakly held, so that the annotation types of a finished compilation can be
+   * garbage-collected.
+   */
+  private static final Map<TypeElement, WeakReference<AnnotationMirror>> defaultAnnotations =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
   /**
    * Create a new AnnotationBuilder for the given annotation and environment (with no
    * elements/fields, but they can be added later).
@@ -239,6 +252,14 @@ public class AnnotationBuilder {
       return null;
     }
 
+    if (elementNamesValues.isEmpty()) {
+      WeakReference<AnnotationMirror> ref = defaultAnnotations.get(annoElt);
+      AnnotationMirror canonical = ref == null ? null : ref.get();
+      if (canonical != null) {
+        return canonical;
+      }
+    }
+
     List<ExecutableElement> methods = ElementFilter.methodsIn(annoElt.getEnclosedElements());
     Map<ExecutableElement, AnnotationValue> elementValues = new ArrayMap<>(methods.size());
     for (ExecutableElement annoElement : methods) {
@@ -256,6 +277,9 @@ public class AnnotationBuilder {
     }
 
     AnnotationMirror result = new CheckerFrameworkAnnotationMirror(annoType, elementValues);
+    if (elementNamesValues.isEmpty()) {
+      defaultAnnotations.put(annoElt, new WeakReference<>(result));
+    }
     return result;
   }
 
@@ -1,11 +1,14 @@
 package org.checkerframework.javacutil;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NavigableSet;
-import java.util.TreeSet;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
 import javax.lang.model.element.AnnotationMirror;
 import org.checkerframework.checker.initialization.qual.UnknownInitialization;
 import org.checkerframework.checker.nullness.qual.KeyFor;
@@ -30,15 +33,39 @@ import org.plumelib.util.DeepCopyable;
  *
  * <p>AnnotationMirror is an interface and not all implementing classes provide a correct equals
  * method; therefore, the existing implementations of Set cannot be used.
+ *
+ * <p>The elements are kept in an array, sorted by {@link AnnotationUtils#compareAnnotationMirrors}.
+ * Most sets contain at most one annotation per type hierarchy, so a linear search of a short array
+ * is faster, and allocates less, than a tree. As for {@link java.util.TreeSet}, iterators are
+ * fail-fast: modifying the set other than through the iterator's own {@code remove} method causes
+ * the iterator to throw a {@link ConcurrentModificationException}.
  */
 // TODO: Could extend AbstractSet to eliminate the need to implement a few methods.
 public class AnnotationMirrorSet
     implements NavigableSet<@KeyFor("this") AnnotationMirror>, DeepCopyable<AnnotationMirrorSet> {
 
-  /** Backing set. */
-  // Not final because makeUnmodifiable() can reassign it.
-  private NavigableSet<@KeyFor("this") AnnotationMirror> shadowSet =
-      new TreeSet<>(AnnotationUtils::compareAnnotationMirrors);
+  /** The order of the elements of every AnnotationMirrorSet. */
+  private static final Comparator<AnnotationMirror> ORDER =
+      AnnotationUtils::compareAnnotationMirrors;
+
+  /** The array used by every empty set that has never had an element. */
+  private static final AnnotationMirror[] EMPTY_ARRAY = new AnnotationMirror[0];
+
+  /**
+   * The elements of this set, in the order given by {@link #ORDER}. Only the first {@link #size}
+   * elements are used.
+   */
+  @SuppressWarnings("keyfor:assignment") // the set is empty
+  private @KeyFor("this") AnnotationMirror[] elements = EMPTY_ARRAY;
+
+  /** The number of elements in this set. */
+  private int size = 0;
+
+  /** The number of times this set has been structurally modified; used by iterators. */
+  private int modCount = 0;
+
+  /** True if {@link #makeUnmodifiable} has been called on this set. */
+  private boolean unmodifiable = false;
 
   /** The canonical unmodifiable empty set. */
   private static AnnotationMirrorSet emptySet = unmodifiableSet(Collections.emptySet());
@@ -69,11 +96,14 @@ public class AnnotationMirrorSet
     this.addAll(annos);
   }
 
-  @SuppressWarnings("keyfor:argument") // transferring keys from one map to another
+  @SuppressWarnings("keyfor:assignment") // transferring keys from one set to another
   @Override
   public AnnotationMirrorSet deepCopy() {
     AnnotationMirrorSet result = new AnnotationMirrorSet();
-    result.shadowSet.addAll(shadowSet);
+    if (size != 0) {
+      result.elements = Arrays.copyOf(elements, size);
+      result.size = size;
+    }
     return result;
   }
 
@@ -83,21 +113,68 @@ public class AnnotationMirrorSet
    * @return this set
    */
   public @This AnnotationMirrorSet makeUnmodifiable() {
-    shadowSet = Collections.unmodifiableNavigableSet(shadowSet);
+    unmodifiable = true;
     return this;
   }
 
+  /**
+   * Throws an exception if this set is unmodifiable.
+   *
+   * @throws UnsupportedOperationException if this set is unmodifiable
+   */
+  private void checkModifiable(
+      @UnknownInitialization(AnnotationMirrorSet.class) AnnotationMirrorSet this) {
+    if (unmodifiable) {
+      throw new UnsupportedOperationException("unmodifiable AnnotationMirrorSet");
+    }
+  }
+
+  /**
+   * Returns the index of the element that is the same as {@code anno}, according to {@link
+   * AnnotationUtils#areSame}, or -1 if there is none.
+   *
+   * @param anno an annotation
+   * @return the index of {@code anno} in {@link #elements}, or -1
+   */
+  private int indexOf(
+      @UnknownInitialization(AnnotationMirrorSet.class) AnnotationMirrorSet this,
+      AnnotationMirror anno) {
+    for (int i = 0; i < size; i++) {
+      if (AnnotationUtils.areSame(elements[i], anno)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Removes the element at the given index.
+   *
+   * @param index the index of the element to remove
+   * @return the removed element
+   */
+  @SuppressWarnings("nullness:assignment") // clear the unused slot
+  private @KeyFor("this") AnnotationMirror removeAt(int index) {
+    checkModifiable();
+    @KeyFor("this") AnnotationMirror result = elements[index];
+    modCount++;
+    size--;
+    System.arraycopy(elements, index + 1, elements, index, size - index);
+    elements[size] = null;
+    return result;
+  }
+
   /**
    * Returns a new unmodifiable {@link AnnotationMirrorSet} that contains {@code value}.
    *
    * @param value the AnnotationMirror to put in the set
    * @return a new unmodifiable {@link AnnotationMirrorSet} that contains only {@code value}
    */
+  @SuppressWarnings("keyfor:assignment") // the set contains value
   public static AnnotationMirrorSet singleton(AnnotationMirror value) {
-    // The implementation could be more efficient if Collections.singleton returned a
-    // NavigableSet.
     AnnotationMirrorSet result = new AnnotationMirrorSet();
-    result.add(value);
+    result.elements = new AnnotationMirror[] {value};
+    result.size = 1;
     result.makeUnmodifiable();
     return result;
   }
@@ -127,38 +204,99 @@ public class AnnotationMirrorSet
 
   @Override
   public int size() {
-    return shadowSet.size();
+    return size;
   }
 
   @Override
   public boolean isEmpty() {
-    return shadowSet.isEmpty();
+    return size == 0;
   }
 
   @Override
   public boolean contains(
       @UnknownInitialization(AnnotationMirrorSet.class) AnnotationMirrorSet this,
       @Nullable Object o) {
-    return o instanceof AnnotationMirror am && AnnotationUtils.containsSame(shadowSet, am);
+    return o instanceof AnnotationMirror am && indexOf(am) != -1;
   }
 
   @Override
   public Iterator<@KeyFor("this") AnnotationMirror> iterator() {
-    return shadowSet.iterator();
+    return new Itr();
+  }
+
+  /** An iterator over an AnnotationMirrorSet, in ascending order. */
+  private class Itr implements Iterator<@KeyFor("this") AnnotationMirror> {
+    /** The index of the next element to return. */
+    private int next = 0;
+
+    /** The index of the element most recently returned by {@link #next}, or -1. */
+    private int last = -1;
+
+    /** The value of {@link #modCount} that this iterator expects. */
+    private int expectedModCount = modCount;
+
+    @Override
+    public boolean hasNext() {
+      return next < size;
+    }
+
+    @Override
+    public @KeyFor("this") AnnotationMirror next() {
+      checkForComodification();
+      if (next >= size) {
+        throw new NoSuchElementException();
+      }
+      last = next++;
+      return elements[last];
+    }
+
+    @Override
+    public void remove() {
+      if (last == -1) {
+        throw new IllegalStateException();
+      }
+      checkForComodification();
+      removeAt(last);
+      expectedModCount = modCount;
+      next = last;
+      last = -1;
+    }
+
+    /**
+     * Throws an exception if the set has been modified other than through this iterator.
+     *
+     * @throws ConcurrentModificationException if the set has been modified other than through this
+     *     iterator
+     */
+    private void checkForComodification() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
   }
 
   @Override
   public Object[] toArray() {
-    return shadowSet.toArray();
+    return Arrays.copyOf(elements, size, Object[].class);
   }
 
-  @SuppressWarnings("nullness:toarray.nullable.elements.not.newarray") // delegation
+  @SuppressWarnings({
+    "unchecked", // the array has the type of a
+    "nullness:toarray.nullable.elements.not.newarray" // the array is not over-sized
+  })
   @Override
   public <@KeyForBottom T> @Nullable T[] toArray(@PolyNull T[] a) {
-    return shadowSet.toArray(a);
+    if (a.length < size) {
+      return (T[]) Arrays.copyOf(elements, size, a.getClass());
+    }
+    System.arraycopy(elements, 0, a, 0, size);
+    if (a.length > size) {
+      a[size] = null;
+    }
+    return a;
   }
 
-  @SuppressWarnings("keyfor:argument") // delegation
+  @SuppressWarnings("keyfor:assignment") // adding the key
   @Override
   @SideEffectsOnly("this")
   public boolean add(
@@ -167,7 +305,18 @@ public class AnnotationMirrorSet
     if (contains(annotationMirror)) {
       return false;
     }
-    shadowSet.add(annotationMirror);
+    checkModifiable();
+    int index = 0;
+    while (index < size && ORDER.compare(elements[index], annotationMirror) < 0) {
+      index++;
+    }
+    if (size == elements.length) {
+      elements = Arrays.copyOf(elements, Math.max(2, 2 * size));
+    }
+    System.arraycopy(elements, index, elements, index + 1, size - index);
+    elements[index] = annotationMirror;
+    modCount++;
+    size++;
     return true;
   }
 
@@ -175,8 +324,11 @@ public class AnnotationMirrorSet
   @SideEffectsOnly("this")
   public boolean remove(@Nullable Object o) {
     if (o instanceof AnnotationMirror am) {
-      AnnotationMirror found = AnnotationUtils.getSame(shadowSet, am);
-      return found != null && shadowSet.remove(found);
+      int index = indexOf(am);
+      if (index != -1) {
+        removeAt(index);
+        return true;
+      }
     }
     return false;
   }
@@ -217,8 +369,13 @@ public class AnnotationMirrorSet
         newSet.add((AnnotationMirror) o);
       }
     }
-    if (newSet.size() != shadowSet.size()) {
-      shadowSet = newSet;
+    if (newSet.size() != size) {
+      checkModifiable();
+      @SuppressWarnings("keyfor:assignment") // transferring keys from one set to another
+      @KeyFor("this") AnnotationMirror[] newElements = newSet.elements;
+      elements = newElements;
+      size = newSet.size;
+      modCount++;
       return true;
     }
     return false;
@@ -236,15 +393,23 @@ public class AnnotationMirrorSet
     return result;
   }
 
+  @SuppressWarnings("nullness:argument") // clear the unused slots
   @Override
   @SideEffectsOnly("this")
   public void clear() {
-    shadowSet.clear();
+    checkModifiable();
+    Arrays.fill(elements, 0, size, null);
+    modCount++;
+    size = 0;
   }
 
   @Override
   public String toString() {
-    return shadowSet.toString();
+    StringJoiner result = new StringJoiner(", ", "[", "]");
+    for (int i = 0; i < size; i++) {
+      result.add(String.valueOf(elements[i]));
+    }
+    return result.toString();
   }
 
   @Override
@@ -284,53 +449,75 @@ public class AnnotationMirrorSet
   })
   @Override
   public Comparator<? super AnnotationMirror> comparator() {
-    return shadowSet.comparator();
+    return ORDER;
   }
 
   @Override
   public @KeyFor("this") AnnotationMirror first() {
-    return shadowSet.first();
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return elements[0];
   }
 
   @Override
   public @KeyFor("this") AnnotationMirror last() {
-    return shadowSet.last();
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return elements[size - 1];
   }
 
-  @SuppressWarnings("keyfor:argument") // delegation
   @Override
   public @Nullable @KeyFor("this") AnnotationMirror lower(AnnotationMirror e) {
-    return shadowSet.lower(e);
+    for (int i = size - 1; i >= 0; i--) {
+      if (ORDER.compare(elements[i], e) < 0) {
+        return elements[i];
+      }
+    }
+    return null;
   }
 
-  @SuppressWarnings("keyfor:argument") // delegation
   @Override
   public @Nullable @KeyFor("this") AnnotationMirror floor(AnnotationMirror e) {
-    return shadowSet.floor(e);
+    for (int i = size - 1; i >= 0; i--) {
+      if (ORDER.compare(elements[i], e) <= 0) {
+        return elements[i];
+      }
+    }
+    return null;
   }
 
-  @SuppressWarnings("keyfor:argument") // delegation
   @Override
   public @Nullable @KeyFor("this") AnnotationMirror ceiling(AnnotationMirror e) {
-    return shadowSet.ceiling(e);
+    for (int i = 0; i < size; i++) {
+      if (ORDER.compare(elements[i], e) >= 0) {
+        return elements[i];
+      }
+    }
+    return null;
   }
 
-  @SuppressWarnings("keyfor:argument") // delegation
   @Override
   public @Nullable @KeyFor("this") AnnotationMirror higher(AnnotationMirror e) {
-    return shadowSet.higher(e);
+    for (int i = 0; i < size; i++) {
+      if (ORDER.compare(elements[i], e) > 0) {
+        return elements[i];
+      }
+    }
+    return null;
   }
 
   @Override
   @SideEffectsOnly("this")
   public @Nullable @KeyFor("this") AnnotationMirror pollFirst() {
-    return shadowSet.pollFirst();
+    return size == 0 ? null : removeAt(0);
   }
 
   @Override
   @SideEffectsOnly("this")
   public @Nullable @KeyFor("this") AnnotationMirror pollLast() {
-    return shadowSet.pollLast();
+    return size == 0 ? null : removeAt(size - 1);
   }
 
   @Override
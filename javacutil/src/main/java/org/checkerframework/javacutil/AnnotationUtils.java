@@ -396,7 +396,11 @@ public final class AnnotationUtils {
    * @param a2 the second annotation
    * @return an ordering over AnnotationMirrors based on their name and values
    */
+  @EqualsMethod
   public static int compareAnnotationMirrors(AnnotationMirror a1, AnnotationMirror a2) {
+    if (a1 == a2) {
+      return 0;
+    }
     int nameComparison = compareByName(a1, a2);
     if (nameComparison != 0) {
       return nameComparison;
@@ -405,6 +409,10 @@ public final class AnnotationUtils {
     // The annotations have the same name, but possibly different values, so compare values.
     Map<? extends ExecutableElement, ? extends AnnotationValue> vals1 = a1.getElementValues();
     Map<? extends ExecutableElement, ? extends AnnotationValue> vals2 = a2.getElementValues();
+    if (vals1.isEmpty() && vals2.isEmpty()) {
+      // Both annotations use the default value of every element.
+      return 0;
+    }
     Set<ExecutableElement> sortedElements =
         new TreeSet<>(Comparator.comparing(ElementUtils::getSimpleSignature));
     sortedElements.addAll(
@@ -1183,6 +1191,15 @@ public final class AnnotationUtils {
   @EqualsMethod
   private static boolean sameElementValues(AnnotationMirror am1, AnnotationMirror am2) {
 
+    // This method might return true even if these maps differ, because of default values.
+    Map<? extends ExecutableElement, ? extends AnnotationValue> vals1 = am1.getElementValues();
+    Map<? extends ExecutableElement, ? extends AnnotationValue> vals2 = am2.getElementValues();
+    if (vals1.isEmpty() && vals2.isEmpty()) {
+      // Both annotations use the default value of every element, as do all annotations of a type
+      // that has no elements.  This avoids computing the annotation type's members.
+      return true;
+    }
+
     // Same elts for both annotations, because am1.getAnnotationType() == am2.getAnnotationType().
     List<ExecutableElement> elts =
         ElementFilter.methodsIn(am1.getAnnotationType().asElement().getEnclosedElements());
@@ -1190,10 +1207,6 @@ public final class AnnotationUtils {
       return true;
     }
 
-    // This method might return true even if these maps differ, because of default values.
-    Map<? extends ExecutableElement, ? extends AnnotationValue> vals1 = am1.getElementValues();
-    Map<? extends ExecutableElement, ? extends AnnotationValue> vals2 = am2.getElementValues();
-
     for (ExecutableElement meth : elts) {
       AnnotationValue aval1 = vals1.get(meth);
       AnnotationValue aval2 = vals2.get(meth);